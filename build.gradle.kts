@@ -12,6 +12,7 @@ repositories {
 
 dependencies {
     implementation("net.minestom:minestom-snapshots:1_21_5-c4814c2270")
+    implementation("net.kyori:adventure-text-minimessage:4.21.0") // Formatting for minestom.template
     testImplementation(platform("org.junit:junit-bom:5.9.1"))
     testImplementation("org.junit.jupiter:junit-jupiter")
 
@@ -13,6 +13,35 @@ declare const minestom: {
      */
     on: (eventName: 'playerJoin' | 'playerLeave', jsCallback: (player: Player) => void) => void;
     on: (eventName: 'playerBlockInteract', jsCallback: (event: PlayerBlockInteractEventDetails) => void) => void;
+    /**
+     * Fired right before the script context is closed (on reload or shutdown).
+     * Use it to hand state over to the next script instance through `minestom.state`.
+     */
+    on: (eventName: 'scriptUnload', jsCallback: () => void) => void;
+    /**
+     * Fired when a player moves into or out of a region defined with `minestom.regions.define`.
+     */
+    on: (eventName: 'regionEnter' | 'regionLeave', jsCallback: (event: RegionEvent) => void) => void;
+    /**
+     * Fired at the end of every server tick with a columnar snapshot of all online players.
+     * The server only takes snapshots while a script listens.
+     */
+    on: (eventName: 'tick', jsCallback: (snapshot: TickSnapshot) => void) => void;
+    /**
+     * Listens to a bridged Minestom event. Built-in names are 'playerChat', 'playerCommand', 'playerBlockBreak',
+     * 'playerBlockPlace', 'playerUseItem', 'playerDeath', 'playerRespawn', 'entityDamage', 'entityDeath',
+     * 'inventoryPreClick', 'inventoryClose', 'itemDrop', 'chunkLoad' and 'chunkUnload'; any other event can be
+     * named by its fully qualified class name, except events that fire off the server thread (`Async*` events,
+     * server list pings). 'chunkLoad' and 'chunkUnload' are delivered on the tick after the chunk event.
+     * The server only listens to an event once a script subscribes to it.
+     */
+    on: (eventName: BridgedEventName | string, jsCallback: (event: BridgedEvent) => void) => void;
+    /**
+     * Registers an event listener that is only called for events matching the filter.
+     * The filter is evaluated on the server before the event is converted for JavaScript,
+     * so non-matching events cost almost nothing.
+     */
+    on: (eventName: string, filter: ScriptEventFilter, jsCallback: (...args: any[]) => void) => void;
 
     /**
      * Broadcasts a message to all players on the server.
@@ -23,17 +52,421 @@ declare const minestom: {
     /**
      * Schedules a task to be executed after a specified delay in ticks.
      * @param delayInTicks The number of ticks to wait before executing the task.
-     * @returns A Promise that resolves when the task is executed.
+     * @returns A Promise that resolves when the task is executed. Due timers, async results and worker
+     * messages settle together at the end of the server tick, so their continuations run in one batch.
      */
     schedule: (delayInTicks: number) => Promise<void>;
 
+    /**
+     * Calls `fn` for every item, spread across ticks so no tick spends more than `budgetMs` (default 2, at most 10)
+     * on it. Deferred jobs share one budget per tick, the largest of theirs, and take turns. The statement limit
+     * applies to each call of `fn`. Use it for large jobs like rewarding every player, instead of looping in one handler.
+     * @returns A Promise resolving with the number of processed items, rejected if `fn` throws.
+     */
+    defer: <T>(iterable: Iterable<T> | ArrayLike<T>, fn: (item: T, index: number) => void, options?: { budgetMs?: number }) => Promise<number>;
+
     /**
      * Registers a new server command based on the provided definition.
+     * Scripts of a pack other than the main one register their commands as `<pack>:<name>`.
      * @param definition The command definition object.
      */
     registerCommand: (definition: ScriptCommandDefinition) => void;
+
+    /**
+     * Host-side store that survives script reloads.
+     */
+    state: ScriptState;
+
+    /**
+     * Persistent key-value storage. Reads are synchronous; writes are persisted in the background.
+     */
+    storage: ScriptStorage;
+
+    /**
+     * Starts a worker running the given script in its own context on a background thread pool.
+     * Messages are structured-cloned between contexts. A single job (module load or message) may run for at
+     * most 30 seconds; a worker that exceeds it is terminated.
+     * @param fileName Path of the worker script, relative to the scripts directory.
+     */
+    worker: (fileName: string) => ScriptWorkerHandle;
+
+    /**
+     * Generates the instance's chunks with a script module. The module runs in one context per generator thread,
+     * so chunks are still generated in parallel; it must call `generator.onGenerate(fn)`. Replaces any previous generator.
+     * @param fileName Path of the generator script, relative to the scripts directory.
+     */
+    registerGenerator: (instance: PlayerInstance | string, fileName: string) => boolean;
+
+    /**
+     * Non-blocking file and loopback network access. Calls run on virtual threads; Promises settle on the server thread.
+     */
+    io: ScriptIo;
+
+    /**
+     * Named boxes whose membership is tracked on the server; fires `regionEnter` and `regionLeave`.
+     */
+    regions: ScriptRegions;
+
+    /**
+     * Returns a listener registry scoped to one instance. Its listeners are dropped when the instance is unregistered.
+     * @param instance Instance object or instance UUID.
+     */
+    forInstance: (instance: PlayerInstance | string) => ScopedEvents;
+
+    /**
+     * Reusable player groups. Sends are encoded once for the whole group.
+     */
+    audiences: ScriptAudiences;
+
+    /**
+     * Sends a chat message to one player.
+     * @param player A player object or UUID string.
+     */
+    sendMessage: (player: Player | string, message: string) => void;
+
+    /**
+     * Compiles a message template with `<name>` placeholders. Templates are compiled once per source and cached,
+     * so calling this inside a handler is cheap.
+     * @param options `miniMessage: true` enables MiniMessage formatting; placeholders are then the tags MiniMessage does not know.
+     */
+    template: (source: string, options?: { miniMessage?: boolean }) => MessageTemplate;
+
+    /**
+     * Per-player outbound queue for script messages. Identical lines within a tick are sent once, the rest
+     * are joined into one chat packet per player per tick; lines over budget are dropped.
+     */
+    outbound: {
+        configure: (options: { maxLinesPerTick?: number; maxLinesPerSecond?: number }) => void;
+        stats: () => { maxLinesPerTick: number; maxLinesPerSecond: number; dropped: number; deduplicated: number };
+    };
+
+    /**
+     * Per-player numbers stored in columns indexed by a player slot, without per-player objects.
+     * Slots are assigned on join and reused after a player leaves; data survives script reloads.
+     */
+    playerData: ScriptPlayerData;
+
+    /**
+     * Returns a named, bounded cache kept on the server. Every script of the pack asking for the same name
+     * shares it, and entries survive reloads; other packs have their own caches. Options given here replace the cache's current limits.
+     */
+    cache: (name: string, options?: ScriptCacheOptions) => ScriptCacheHandle;
 };
 
+type PlayerColumnType = 'int8' | 'uint8' | 'int16' | 'int32' | 'float32' | 'float64';
+
+interface ScriptPlayerData {
+    /** Defines a column, or returns the existing one of the same type. */
+    defineColumn: (name: string, type: PlayerColumnType) => PlayerColumn;
+    column: (name: string) => PlayerColumn | null;
+    /** The player's slot, i.e. their index into every column's `view`. */
+    slot: (player: Player | string) => number;
+    /** Number of slots every column currently holds. */
+    capacity: () => number;
+    columns: () => string[];
+}
+
+interface PlayerColumn {
+    name: string;
+    type: PlayerColumnType;
+    /** Typed array over the column, indexed by slot. Re-read it after players join: it is replaced when the column grows. */
+    view: Int8Array | Uint8Array | Int16Array | Int32Array | Float32Array | Float64Array;
+    get: (player: Player | string) => number;
+    set: (player: Player | string, value: number) => boolean;
+}
+
+interface ScriptCacheOptions {
+    /** Maximum number of entries, least recently used evicted first. Default 10000, 0 for no limit. */
+    maxEntries?: number;
+    /** Maximum total weight, 0 for no limit. */
+    maxWeight?: number;
+    /** Ticks after which an entry expires, 0 to never expire. */
+    ttlTicks?: number;
+    /** Weight of an entry against `maxWeight`; entries weigh 1 without it. */
+    weigher?: (key: string, value: any) => number;
+}
+
+interface ScriptCacheHandle {
+    name: string;
+    /** Returns a copy of the cached value, or null. */
+    get: (key: string) => any;
+    /** Stores a copy of the value; strings, numbers, plain objects, arrays and typed arrays are supported. */
+    set: (key: string, value: any) => boolean;
+    /** Returns the cached value, or computes, stores and returns it on a miss. */
+    getOrCompute: <T>(key: string, compute: (key: string) => T) => T;
+    has: (key: string) => boolean;
+    delete: (key: string) => boolean;
+    clear: () => void;
+    stats: () => { size: number; weight: number; hits: number; misses: number; hitRate: number; evictions: number; expirations: number };
+}
+
+interface MessageTemplate {
+    source: string;
+    /** Placeholder names, in order of appearance. */
+    slots: string[];
+    /** Renders to plain text. Player objects stand for their name. */
+    render: (params?: Record<string, any>) => string;
+    /** Renders once per client locale and sends to the given players. */
+    send: (target: Player | string | (Player | string)[], params?: Record<string, any>) => void;
+    broadcast: (params?: Record<string, any>) => void;
+}
+
+interface ScriptAudiences {
+    /** Returns the named audience (e.g. a team), creating it if needed. Named audiences survive script reloads. */
+    create: (name: string) => ScriptAudience & ScriptTeam;
+    /** Players currently in an instance. */
+    instance: (instance: PlayerInstance | string) => ScriptAudience;
+    /** Online players with at least the given permission level. */
+    permission: (level: number) => ScriptAudience;
+    delete: (name: string) => boolean;
+    list: () => string[];
+}
+
+interface ScriptAudience {
+    name: string;
+    sendMessage: (message: string) => void;
+    sendActionBar: (message: string) => void;
+    size: () => number;
+    players: () => Player[];
+    has: (player: Player | string) => boolean;
+}
+
+interface ScriptTeam {
+    /** Members are removed automatically when they disconnect. */
+    add: (player: Player | string) => boolean;
+    remove: (player: Player | string) => boolean;
+    clear: () => void;
+}
+
+interface ScopedEvents {
+    uuid: string;
+    on(eventName: string, jsCallback: (...args: any[]) => void): void;
+    on(eventName: string, options: ScriptEventFilter, jsCallback: (...args: any[]) => void): void;
+}
+
+/**
+ * Region definitions. Regions are cleared when scripts reload; players already inside a redefined
+ * region do not get a new `regionEnter`.
+ */
+interface ScriptRegions {
+    /**
+     * Defines (or replaces) a region. Regions up to about 1024x1024 blocks are indexed by position; larger ones
+     * are checked on every move, so keep them few.
+     * @param instance Instance object or instance UUID.
+     * @param box Inclusive bounds.
+     * @returns false if the arguments are invalid.
+     */
+    define: (id: string, instance: PlayerInstance | string, box: { min: { x: number; y: number; z: number }; max: { x: number; y: number; z: number } }) => boolean;
+    remove: (id: string) => boolean;
+    list: () => string[];
+    /** Ids of the regions the player is currently in. */
+    regionsOf: (player: Player) => string[];
+}
+
+/**
+ * Row `i` of every column describes the same player; only the first `count` rows are valid.
+ * The arrays are reused every tick, so copy what you need to keep past the listener call.
+ */
+interface TickSnapshot {
+    tick: number;
+    count: number;
+    /** Entity ids. */
+    ids: Int32Array;
+    /** x, y, z, yaw, pitch per row. */
+    positions: Float64Array;
+    health: Float32Array;
+    /** Indexes into `instanceIds`, or -1 for players without an instance. */
+    instances: Int32Array;
+    instanceIds: string[];
+    /** The player handle of a row. */
+    player: (row: number) => Player;
+}
+
+interface RegionEvent {
+    player: Player;
+    region: string;
+}
+
+/**
+ * Asynchronous I/O. File paths are relative to the scripts directory and may not leave it.
+ */
+interface ScriptIo {
+    readFile: (path: string) => Promise<string>;
+
+    /**
+     * Reads a file as raw bytes. The returned array is backed by host memory.
+     */
+    readBytes: (path: string) => Promise<Uint8Array>;
+
+    writeFile: (path: string, data: string | ArrayBuffer | ArrayBufferView) => Promise<void>;
+
+    /**
+     * Lists a directory. Subdirectory names end with "/".
+     */
+    listDir: (path?: string) => Promise<string[]>;
+
+    /**
+     * Performs an HTTP request. Only loopback hosts (`localhost`, or a literal address such as 127.0.0.1 or [::1]) are allowed.
+     */
+    fetch: (url: string, options?: { method?: string; body?: string; headers?: Record<string, string> }) =>
+        Promise<{ status: number; body: string; headers: Record<string, string> }>;
+
+    /**
+     * Sends a message to a TCP port on the loopback interface and resolves with the full reply.
+     */
+    sendLocal: (port: number, message: string) => Promise<string>;
+}
+
+/**
+ * Main-context handle to a worker started with `minestom.worker`.
+ */
+interface ScriptWorkerHandle {
+    name: string;
+
+    /**
+     * Sends a message to the worker's `onMessage` handler.
+     * @returns A Promise resolving to the handler's return value (or the value its Promise resolves to).
+     */
+    request: <T = any>(message: any) => Promise<T>;
+
+    /**
+     * Sends a message to the worker without waiting for a reply.
+     */
+    post: (message: any) => boolean;
+
+    /**
+     * Registers a listener for messages the worker sends with `worker.postMessage`.
+     */
+    onMessage: (listener: (message: any) => void) => void;
+
+    /**
+     * Stops the worker, cancelling a job that is still running.
+     */
+    terminate: () => void;
+}
+
+/**
+ * The `worker` global available inside worker scripts (instead of `minestom`).
+ */
+interface ScriptWorkerScope {
+    name: string;
+
+    /**
+     * Sets the handler for messages from the main context. Its return value is the reply to `request`.
+     */
+    onMessage: (handler: (message: any) => any) => void;
+
+    /**
+     * Sends a message to the main context's `onMessage` listeners.
+     */
+    postMessage: (message: any) => boolean;
+}
+
+type TypedArrayName = "Int8Array" | "Uint8Array" | "Uint8ClampedArray" | "Int16Array" | "Uint16Array" |
+    "Int32Array" | "Uint32Array" | "Float32Array" | "Float64Array" | "BigInt64Array" | "BigUint64Array";
+
+/**
+ * State handed over between script instances across reloads.
+ * Values are structured-cloned: plain objects, arrays, primitives, ArrayBuffers and typed arrays are supported.
+ */
+interface ScriptState {
+    /**
+     * Stores a clone of the value under the given key. Typed arrays are copied, so later writes to them are
+     * not part of the exported value.
+     * @returns False if the value cannot be cloned (e.g. it contains functions or host objects).
+     */
+    export: (key: string, value: any) => boolean;
+
+    /**
+     * Recreates the value stored under the given key, or returns null if there is none.
+     * The first import of an exported value gets its binary payloads as views over the stored memory, without
+     * copying; every later import gets copies, so two imports never share a buffer.
+     */
+    import: <T = any>(key: string) => T | null;
+
+    /**
+     * Returns a typed array backed by host memory kept under the given key.
+     * Writes go straight into the store, so the data is available after a reload without exporting it.
+     * An existing buffer with the same type and size is reused: every call returns a view over the same memory.
+     */
+    allocate: (key: string, type: TypedArrayName, byteLength: number) => any;
+
+    has: (key: string) => boolean;
+    remove: (key: string) => boolean;
+    keys: () => string[];
+}
+
+/**
+ * Persistent key-value storage backed by an append-only log on the server.
+ * Values are structured-cloned (see {@link ScriptState}).
+ */
+interface ScriptStorage {
+    /**
+     * Returns a copy of the stored value, or null if the key is unknown. Served from memory. Changing the
+     * returned object or typed array does not change what is stored; call `set` again to persist it.
+     */
+    get: <T = any>(key: string) => T | null;
+
+    /**
+     * Stores a value. The in-memory copy is updated immediately; the write reaches disk within a second.
+     * Setting null or undefined deletes the key. Typed arrays are copied, so later writes to them are not stored.
+     * @returns False if the value cannot be cloned.
+     */
+    set: (key: string, value: any) => boolean;
+
+    delete: (key: string) => boolean;
+    has: (key: string) => boolean;
+    keys: () => string[];
+
+    /**
+     * Persists all pending writes now.
+     * @returns A Promise that resolves once the writes are durable.
+     */
+    flush: () => Promise<void>;
+}
+
+type BridgedEventName = 'playerChat' | 'playerCommand' | 'playerBlockBreak' | 'playerBlockPlace' | 'playerUseItem'
+    | 'playerDeath' | 'playerRespawn' | 'entityDamage' | 'entityDeath' | 'inventoryPreClick' | 'inventoryClose'
+    | 'itemDrop' | 'chunkLoad' | 'chunkUnload';
+
+/**
+ * Read-only view of a Minestom event. Each getter of the event class is a member without its
+ * get/is prefix (getPlayer() -> player, isCancelled() -> cancelled). Members are read when accessed.
+ * Entities and players are handles, points are {x, y, z}, blocks are state strings, text components
+ * are plain strings, enums are lower-case names.
+ */
+interface BridgedEvent {
+    /** Simple name of the event class, e.g. "PlayerChatEvent". */
+    type: string;
+    /** Present on cancellable events. Only works while the listener is running. */
+    cancel?: () => void;
+    /** Present on cancellable events; reflects cancellations by earlier listeners. */
+    cancelled?: boolean;
+    [member: string]: any;
+}
+
+/**
+ * Declarative event filter for `minestom.on(name, filter, callback)`. All given keys must match.
+ */
+interface ScriptEventFilter {
+    /** Namespace ids of the event's block, e.g. ["minecraft:lever"]. */
+    blocks?: string[];
+    hand?: 'main_hand' | 'off_hand';
+    /**
+     * UUID of the instance. For bridged events the listener is bound to that instance's event node,
+     * so events from other instances never reach it.
+     */
+    instance?: string;
+    /** String tag the instance must carry; bridged events are routed by a tag-filtered event node. */
+    instanceTag?: { name: string; value: string };
+    /** Box (inclusive) the event position must lie in; the player's position is used if the event has none. */
+    box?: { min: { x: number; y: number; z: number }; max: { x: number; y: number; z: number } };
+    /** Minimum permission level of the player. */
+    permissionLevel?: number;
+    /** Not a filter: listeners with a higher priority run first (default 0). */
+    priority?: number;
+}
+
 /**
  * Represents a player object.
  */
@@ -54,6 +487,21 @@ interface Player {
      */
     sendMessage: (message: string) => void;
 
+    /**
+     * Shows an action bar. Only the latest action bar of a tick is sent.
+     */
+    sendActionBar: (message: string) => void;
+
+    /**
+     * Shows a title. Only the latest title of a tick is sent.
+     */
+    showTitle: (title: string, subtitle?: string) => void;
+
+    /**
+     * The player's sidebar, boss bar and tab list header/footer.
+     */
+    ui: PlayerUi;
+
     /**
      * Gets the current position of the player.
      * @returns An object with x, y, and z coordinates.
@@ -74,6 +522,38 @@ interface Player {
     setGameMode: (gameModeName: "SURVIVAL" | "CREATIVE" | "ADVENTURE" | "SPECTATOR" | "survival" | "creative" | "adventure" | "spectator") => boolean;
 }
 
+/**
+ * Declarative UI for one player. Each call describes the whole desired state; the server keeps what the
+ * player last received and, once per tick, sends only what changed. Setting the same state every tick is free.
+ */
+interface PlayerUi {
+    /**
+     * Shows a sidebar, or hides it with null. At most 15 lines, top to bottom.
+     */
+    sidebar: (sidebar: { title?: string; lines: string[] } | null) => void;
+
+    /**
+     * Shows a boss bar, or hides it with null.
+     * @param bossbar progress is 0 to 1 (default 1); color defaults to "white", overlay to "progress".
+     */
+    bossbar: (bossbar: {
+        text?: string;
+        progress?: number;
+        color?: "pink" | "blue" | "red" | "green" | "yellow" | "purple" | "white";
+        overlay?: "progress" | "notched_6" | "notched_10" | "notched_12" | "notched_20";
+    } | null) => void;
+
+    /**
+     * Sets the tab list header and footer; null clears both.
+     */
+    tab: (tab: { header?: string; footer?: string } | null) => void;
+
+    /**
+     * Hides the sidebar and boss bar and clears the tab list header and footer.
+     */
+    clear: () => void;
+}
+
 /**
  * Details for the playerBlockInteract event.
  */
@@ -82,6 +562,8 @@ interface PlayerBlockInteractEventDetails {
     position: { x: number; y: number; z: number };
     block: { id: string; namespaceId: string; };
     hand: 'main_hand' | 'off_hand';
+    /** Cancels the interaction. Only works while the listener is running. */
+    cancel: () => void;
 }
 
 /**
@@ -102,6 +584,123 @@ interface PlayerInstance {
      * @param blockId The namespace ID of the block (e.g., "minecraft:stone").
      */
     setBlock: (x: number, y: number, z: number, blockId: string) => void;
+
+    /**
+     * Returns the players within `radius` blocks of the given point.
+     * Handles are cached: the same player always yields the same object.
+     */
+    nearbyPlayers: (x: number, y: number, z: number, radius: number) => Player[];
+
+    /**
+     * Returns all entities (players included) whose position lies inside the given box.
+     */
+    entitiesInBox: (minX: number, minY: number, minZ: number, maxX: number, maxY: number, maxZ: number) => (Player | ScriptEntity)[];
+
+    /**
+     * Gets the block state at the given coordinates, e.g. "minecraft:oak_log[axis=y]".
+     */
+    getBlock: (x: number, y: number, z: number) => string;
+
+    /**
+     * Reads every block between two corners (inclusive, at most 4M blocks) in one call.
+     * Unloaded chunks read as air.
+     */
+    readRegion: (min: { x: number; y: number; z: number }, max: { x: number; y: number; z: number }) => BlockRegion;
+    /**
+     * Searches a walking path off the server thread. Moves are to the four horizontal neighbours, stepping up
+     * one block or dropping up to `maxDrop` (default 3); the search gives up after `maxNodes` (default 10000).
+     * @returns A Promise of the block positions to walk through, start and goal included, or null if there is none.
+     */
+    findPath: (from: { x: number; y: number; z: number }, to: { x: number; y: number; z: number },
+               options?: { maxNodes?: number; maxDrop?: number }) => Promise<{ x: number; y: number; z: number }[] | null>;
+    /**
+     * Walks the blocks along a ray on the server and returns the first one that stops it, or null.
+     * By default only solid blocks stop the ray; `ignore` lists block ids it passes through.
+     * `maxDistance` is capped at 512, and a ray that reaches an unloaded chunk ends as a miss.
+     */
+    raycast: (origin: { x: number; y: number; z: number }, direction: { x: number; y: number; z: number },
+              maxDistance: number, options?: RaycastOptions) => RaycastHit | null;
+    /**
+     * Casts many rays in one call. `rays` holds originX, originY, originZ, dirX, dirY, dirZ per ray.
+     * Rays are bounded like `raycast`; a batch walks at most 2097152 blocks in total, so `maxDistance` is
+     * lowered for very large batches.
+     */
+    raycastMany: (rays: Float64Array, maxDistance: number, options?: RaycastOptions) => RaycastBatch;
+    /**
+     * Spawns one entity per x, y, z triple (e.g. 'minecraft:block_display'), at most 4000 per group.
+     * The entities belong to the script and are removed when it unloads.
+     */
+    spawnEntities: (type: string, positions: Float64Array) => EntityGroupHandle;
+}
+
+interface EntityGroupHandle {
+    size: number;
+    /** Entity ids, in spawn order. */
+    ids: Int32Array;
+    /**
+     * Moves the entities to new x, y, z positions in spawn order, keeping their rotation.
+     * Each viewer receives all the moves of one call as a single bundle.
+     */
+    setPositions: (positions: Float64Array) => void;
+    entity: (index: number) => ScriptEntity;
+    remove: () => void;
+}
+
+interface RaycastOptions {
+    /** Whether only solid blocks stop the ray (default true); otherwise any non-air block does. */
+    solidOnly?: boolean;
+    ignore?: string[];
+}
+
+interface RaycastHit {
+    x: number;
+    y: number;
+    z: number;
+    block: string;
+    stateId: number;
+    /** Distance from the origin to where the ray entered the block. */
+    distance: number;
+    point: { x: number; y: number; z: number };
+}
+
+/**
+ * Row `i` describes ray `i`. Missed rays have a state id and distance of -1.
+ */
+interface RaycastBatch {
+    count: number;
+    stateIds: Int32Array;
+    /** x, y, z of the hit block per ray. */
+    blocks: Int32Array;
+    distances: Float64Array;
+}
+
+/**
+ * Result of `instance.readRegion`. `data` holds one palette index per block, in Y-Z-X order:
+ * `data[((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX)]`.
+ */
+interface BlockRegion {
+    sizeX: number;
+    sizeY: number;
+    sizeZ: number;
+    /** Palette index per block, backed by host memory. */
+    data: Int32Array;
+    /** Block state string per palette index. */
+    palette: string[];
+    /** Block state id per palette index. */
+    stateIds: Int32Array;
+}
+
+/**
+ * Handle for a non-player entity.
+ */
+interface ScriptEntity {
+    id: number;
+    uuid: string;
+    /** Namespaced entity type, e.g. "minecraft:zombie". */
+    type: string;
+    getPosition: () => { x: number; y: number; z: number };
+    isRemoved: () => boolean;
+    instance: PlayerInstance | null;
 }
 
 /**
@@ -178,3 +777,29 @@ export interface ScriptCommandDefinition {
 // Add a JSDoc reference in your main.js to point to this file
 // For example, at the top of main.js:
 // /// <reference path=\"./minestom-api.d.ts\" />
+
+/**
+ * Global available inside generator scripts registered with `minestom.registerGenerator`.
+ */
+declare const generator: {
+    name: string;
+    onGenerate: (fn: (unit: GenerationUnit) => void) => void;
+    /** Returns the state id of a block state such as "minecraft:stone" or "minecraft:oak_log[axis=y]" (0 if unknown). */
+    stateId: (state: string) => number;
+};
+
+interface GenerationUnit {
+    minX: number;
+    minY: number;
+    minZ: number;
+    sizeX: number;
+    sizeY: number;
+    sizeZ: number;
+    /**
+     * Block state ids to place, index ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX).
+     * Starts zeroed; 0 leaves the block untouched. Applied when the function returns.
+     */
+    blocks: Int32Array;
+    /** Fills whole layers immediately (absolute y, maxY exclusive). */
+    fillHeight: (minY: number, maxY: number, blockId: string) => void;
+}
@@ -0,0 +1,104 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.palette.Palette;
+
+/**
+ * Reads block state ids straight from chunk section palettes, without creating {@code Block} objects.
+ * Remembers the last chunk it touched, so scans with spatial locality avoid repeated chunk lookups.
+ * Unloaded chunks and positions outside the world height read as air (state id 0).
+ * <p>
+ * Not thread-safe; create one reader per scan.
+ */
+public class ChunkBlockReader {
+
+    public static final int AIR_STATE_ID = 0;
+
+    private final Instance instance;
+    private Chunk cachedChunk;
+    private int cachedChunkX = Integer.MIN_VALUE;
+    private int cachedChunkZ = Integer.MIN_VALUE;
+
+    public ChunkBlockReader(Instance instance) {
+        this.instance = instance;
+    }
+
+    public Instance getInstance() {
+        return this.instance;
+    }
+
+    /**
+     * Returns the chunk at the given chunk coordinates, or null if it is not loaded.
+     */
+    public Chunk getChunk(int chunkX, int chunkZ) {
+        if (chunkX != cachedChunkX || chunkZ != cachedChunkZ) {
+            cachedChunk = instance.getChunk(chunkX, chunkZ);
+            cachedChunkX = chunkX;
+            cachedChunkZ = chunkZ;
+        }
+        return cachedChunk;
+    }
+
+    public int getStateId(int x, int y, int z) {
+        Chunk chunk = getChunk(x >> 4, z >> 4);
+        if (chunk == null) {
+            return AIR_STATE_ID;
+        }
+        int section = y >> 4;
+        if (section < chunk.getMinSection() || section >= chunk.getMaxSection()) {
+            return AIR_STATE_ID;
+        }
+        synchronized (chunk) {
+            return chunk.getSection(section).blockPalette().get(x & 15, y & 15, z & 15);
+        }
+    }
+
+    /**
+     * Visits every block of the box (inclusive bounds) one chunk section at a time, holding the chunk
+     * lock only once per chunk column.
+     */
+    public void forEachStateId(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, StateVisitor visitor) {
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                int fromX = Math.max(minX, chunkX << 4), toX = Math.min(maxX, (chunkX << 4) + 15);
+                int fromZ = Math.max(minZ, chunkZ << 4), toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+                Chunk chunk = getChunk(chunkX, chunkZ);
+                if (chunk == null) {
+                    visitAir(fromX, minY, fromZ, toX, maxY, toZ, visitor);
+                    continue;
+                }
+                synchronized (chunk) {
+                    for (int y = minY; y <= maxY; y++) {
+                        int section = y >> 4;
+                        if (section < chunk.getMinSection() || section >= chunk.getMaxSection()) {
+                            visitAir(fromX, y, fromZ, toX, y, toZ, visitor);
+                            continue;
+                        }
+                        Palette palette = chunk.getSection(section).blockPalette();
+                        for (int z = fromZ; z <= toZ; z++) {
+                            for (int x = fromX; x <= toX; x++) {
+                                visitor.accept(x, y, z, palette.get(x & 15, y & 15, z & 15));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void visitAir(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, StateVisitor visitor) {
+        for (int y = minY; y <= maxY; y++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    visitor.accept(x, y, z, AIR_STATE_ID);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface StateVisitor {
+        void accept(int x, int y, int z, int stateId);
+    }
+}
@@ -0,0 +1,105 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.packet.server.play.BundlePacket;
+import net.minestom.server.network.packet.server.play.EntityTeleportPacket;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entities spawned together by a script and moved together.
+ * <p>
+ * {@link #setPositions} moves every member without letting each entity notify its viewers on its own:
+ * the teleport packets are collected per viewer and sent as one bundle, which the client applies in a
+ * single frame, so a viewer receives one write per update instead of one per entity.
+ */
+public class EntityGroup {
+
+    public static final int POSITION_STRIDE = 3;
+    private static final BundlePacket BUNDLE_DELIMITER = new BundlePacket();
+
+    private final Instance instance;
+    private final List<Member> members = new ArrayList<>();
+
+    /**
+     * Exposes the silent position update Minestom keeps for subclasses.
+     */
+    private static final class Member extends Entity {
+        Member(EntityType entityType) {
+            super(entityType);
+            setNoGravity(true);
+        }
+
+        void moveSilently(Pos position) {
+            refreshPosition(position, false, false);
+        }
+    }
+
+    /**
+     * Spawns one entity per position ({@code x, y, z} per entity).
+     */
+    public EntityGroup(Instance instance, EntityType entityType, double[] positions) {
+        this.instance = instance;
+        for (int base = 0; base + POSITION_STRIDE <= positions.length; base += POSITION_STRIDE) {
+            Member member = new Member(entityType);
+            member.setInstance(instance, new Pos(positions[base], positions[base + 1], positions[base + 2]));
+            members.add(member);
+        }
+    }
+
+    public Instance getInstance() {
+        return this.instance;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public Entity getEntity(int index) {
+        return members.get(index);
+    }
+
+    /**
+     * Moves the members to new positions ({@code x, y, z} per entity, in spawn order); rotations are kept.
+     * Extra members keep their position when the array is shorter than the group.
+     */
+    public void setPositions(double[] positions) {
+        Map<Player, List<SendablePacket>> packetsByViewer = new HashMap<>();
+        int count = Math.min(members.size(), positions.length / POSITION_STRIDE);
+        for (int i = 0; i < count; i++) {
+            Member member = members.get(i);
+            if (member.isRemoved()) continue;
+            int base = i * POSITION_STRIDE;
+            Pos current = member.getPosition();
+            Pos position = new Pos(positions[base], positions[base + 1], positions[base + 2], current.yaw(), current.pitch());
+            member.moveSilently(position);
+            EntityTeleportPacket packet = new EntityTeleportPacket(member.getEntityId(), position, Vec.ZERO, 0, false);
+            for (Player viewer : member.getViewers()) {
+                packetsByViewer.computeIfAbsent(viewer, v -> new ArrayList<>()).add(packet);
+            }
+        }
+        packetsByViewer.forEach((viewer, packets) -> {
+            if (packets.size() > 1) {
+                packets.add(0, BUNDLE_DELIMITER);
+                packets.add(BUNDLE_DELIMITER);
+            }
+            viewer.sendPackets(packets);
+        });
+    }
+
+    public void remove() {
+        for (Member member : members) {
+            member.remove();
+        }
+        members.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Instance;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Script-facing handle for an entity (or player), created once and reused for as long as the entity lives.
+ * Members are fixed except {@code instance}, which always reflects the entity's current instance.
+ * Handles outlive script reloads, so they are read-only: a member holding a value from one context
+ * would break once that context is closed.
+ */
+public class EntityHandle implements ProxyObject {
+
+    private final Entity entity;
+    private final Map<String, Object> members;
+    private final ScriptingManager scriptingManager;
+
+    public EntityHandle(Entity entity, Map<String, Object> members, ScriptingManager scriptingManager) {
+        this.entity = entity;
+        this.members = Map.copyOf(members);
+        this.scriptingManager = scriptingManager;
+    }
+
+    public Entity getEntity() {
+        return this.entity;
+    }
+
+    @Override
+    public Object getMember(String key) {
+        if ("instance".equals(key)) {
+            Instance instance = entity.getInstance();
+            return instance != null ? scriptingManager.getInstanceHandle(instance) : null;
+        }
+        return members.get(key);
+    }
+
+    @Override
+    public Object getMemberKeys() {
+        List<Object> keys = new ArrayList<>(members.keySet());
+        keys.add("instance");
+        return ProxyArray.fromList(keys);
+    }
+
+    @Override
+    public boolean hasMember(String key) {
+        return "instance".equals(key) || members.containsKey(key);
+    }
+
+    @Override
+    public void putMember(String key, Value value) {
+        throw new UnsupportedOperationException("Entity handles are read-only.");
+    }
+}
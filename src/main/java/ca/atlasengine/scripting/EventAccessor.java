@@ -0,0 +1,230 @@
+package ca.atlasengine.scripting;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.entity.PlayerHand;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.trait.BlockEvent;
+import net.minestom.server.event.trait.CancellableEvent;
+import net.minestom.server.event.trait.PlayerEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.ItemStack;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyObject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the getters of one Minestom event class through method handles, created once per class.
+ * <p>
+ * {@code getFoo()} and {@code isFoo()} become the script member {@code foo}. Members are converted lazily,
+ * only when a script reads them, so listeners that look at one field do not pay for the rest.
+ * Cancellable events also get {@code cancel()} and a live {@code cancelled} member.
+ */
+public final class EventAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<EventAccessor> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected EventAccessor computeValue(Class<?> type) {
+            return new EventAccessor(type);
+        }
+    };
+
+    private final String[] names;
+    private final MethodHandle[] getters;
+    private final Map<String, Integer> indexByName = new HashMap<>();
+    private final int blockPositionIndex;
+    private final int handIndex;
+
+    private EventAccessor(Class<?> eventClass) {
+        Map<String, MethodHandle> found = new LinkedHashMap<>();
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (Method method : eventClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getParameterCount() != 0
+                    || method.getReturnType() == void.class || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String name = memberName(method.getName());
+            if (name == null || found.containsKey(name)) {
+                continue;
+            }
+            try {
+                found.put(name, lookup.unreflect(method).asType(GETTER_TYPE));
+            } catch (IllegalAccessException ignored) {
+                // Public method declared in a non-public class; not reachable without reflection
+            }
+        }
+        this.names = found.keySet().toArray(new String[0]);
+        this.getters = found.values().toArray(new MethodHandle[0]);
+        for (int i = 0; i < names.length; i++) {
+            indexByName.put(names[i], i);
+        }
+        this.blockPositionIndex = indexByName.getOrDefault("blockPosition", -1);
+        this.handIndex = indexByName.getOrDefault("hand", -1);
+    }
+
+    public static EventAccessor of(Class<?> eventClass) {
+        return ACCESSORS.get(eventClass);
+    }
+
+    private static String memberName(String methodName) {
+        int prefix = methodName.startsWith("get") ? 3 : methodName.startsWith("is") ? 2 : 0;
+        if (prefix == 0 || methodName.length() == prefix || !Character.isUpperCase(methodName.charAt(prefix))) {
+            return null;
+        }
+        return Character.toLowerCase(methodName.charAt(prefix)) + methodName.substring(prefix + 1);
+    }
+
+    private Object get(Event event, int index) {
+        try {
+            return (Object) getters[index].invokeExact((Object) event);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Could not read '" + names[index] + "' of " + event.getClass().getSimpleName(), t);
+        }
+    }
+
+    public Player player(Event event) {
+        return event instanceof PlayerEvent playerEvent ? playerEvent.getPlayer() : null;
+    }
+
+    public Point position(Event event) {
+        return blockPositionIndex >= 0 && get(event, blockPositionIndex) instanceof Point point ? point : null;
+    }
+
+    public Block block(Event event) {
+        return event instanceof BlockEvent blockEvent ? blockEvent.getBlock() : null;
+    }
+
+    public PlayerHand hand(Event event) {
+        return handIndex >= 0 && get(event, handIndex) instanceof PlayerHand hand ? hand : null;
+    }
+
+    /**
+     * Returns a read-only script view of the event. Members are read on first access and cached.
+     */
+    public ProxyObject view(Event event, ScriptingManager scriptingManager) {
+        return new EventView(event, scriptingManager);
+    }
+
+    private final class EventView implements ProxyObject {
+        private final Event event;
+        private final ScriptingManager scriptingManager;
+        private final Object[] values = new Object[names.length];
+        private final boolean[] read = new boolean[names.length];
+
+        EventView(Event event, ScriptingManager scriptingManager) {
+            this.event = event;
+            this.scriptingManager = scriptingManager;
+        }
+
+        @Override
+        public Object getMember(String key) {
+            if ("type".equals(key)) {
+                return event.getClass().getSimpleName();
+            }
+            if (event instanceof CancellableEvent cancellable) {
+                if ("cancel".equals(key)) {
+                    return scriptingManager.getCancelFunction();
+                }
+                if ("cancelled".equals(key)) {
+                    return cancellable.isCancelled();
+                }
+            }
+            Integer index = indexByName.get(key);
+            if (index == null) {
+                return null;
+            }
+            if (!read[index]) {
+                values[index] = toScriptValue(get(event, index), scriptingManager);
+                read[index] = true;
+            }
+            return values[index];
+        }
+
+        @Override
+        public Object getMemberKeys() {
+            List<Object> keys = new ArrayList<>(List.of((Object[]) names));
+            keys.add("type");
+            if (event instanceof CancellableEvent) {
+                keys.add("cancel");
+                if (!indexByName.containsKey("cancelled")) keys.add("cancelled");
+            }
+            return ProxyArray.fromList(keys);
+        }
+
+        @Override
+        public boolean hasMember(String key) {
+            return "type".equals(key) || indexByName.containsKey(key)
+                    || (event instanceof CancellableEvent && ("cancel".equals(key) || "cancelled".equals(key)));
+        }
+
+        @Override
+        public void putMember(String key, Value value) {
+            throw new UnsupportedOperationException("Event views are read-only.");
+        }
+    }
+
+    /**
+     * Converts a value read from an event into something scripts can use directly.
+     */
+    static Object toScriptValue(Object value, ScriptingManager scriptingManager) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Character character) {
+            return character.toString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name().toLowerCase();
+        }
+        if (value instanceof Entity entity) {
+            return scriptingManager.getEntityHandle(entity);
+        }
+        if (value instanceof Instance instance) {
+            return scriptingManager.getInstanceHandle(instance);
+        }
+        if (value instanceof Point point) {
+            Map<String, Object> pointData = new HashMap<>();
+            pointData.put("x", point.x());
+            pointData.put("y", point.y());
+            pointData.put("z", point.z());
+            return ProxyObject.fromMap(pointData);
+        }
+        if (value instanceof Block block) {
+            return block.toString();
+        }
+        if (value instanceof ItemStack itemStack) {
+            Map<String, Object> itemData = new HashMap<>();
+            itemData.put("material", itemStack.material().key().asString());
+            itemData.put("amount", itemStack.amount());
+            return ProxyObject.fromMap(itemData);
+        }
+        if (value instanceof Component component) {
+            return PlainTextComponentSerializer.plainText().serialize(component);
+        }
+        if (value instanceof Iterable<?> iterable) {
+            List<Object> elements = new ArrayList<>();
+            for (Object element : iterable) {
+                elements.add(toScriptValue(element, scriptingManager));
+            }
+            return ProxyArray.fromList(elements);
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,187 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Player;
+import net.minestom.server.entity.PlayerHand;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import org.graalvm.polyglot.Value;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A declarative listener filter, compiled once from the object passed to {@code minestom.on(name, filter, cb)}.
+ * It is evaluated on the host before an event payload is built, so listeners that would return early
+ * in JavaScript are never called.
+ * <p>
+ * Supported keys (all optional, all must match):
+ * <ul>
+ *     <li>{@code blocks}: namespace ids of the event block, e.g. {@code ["minecraft:lever"]}</li>
+ *     <li>{@code hand}: {@code "main_hand"} or {@code "off_hand"}</li>
+ *     <li>{@code instance}: UUID string of the player's instance</li>
+ *     <li>{@code instanceTag}: {@code {name, value}} string tag the player's instance must carry</li>
+ *     <li>{@code box}: {@code {min: {x, y, z}, max: {x, y, z}}} the event position must lie in (inclusive)</li>
+ *     <li>{@code permissionLevel}: minimum permission level of the player</li>
+ * </ul>
+ * The {@code priority} key of the same object is a listener option, read by {@code MinestomBridge.on}.
+ * <p>
+ * {@code instance} and {@code instanceTag} form the filter's {@link ListenerScope}. For bridged Minestom events
+ * the scope is routed by the instance event tree instead of being tested here; see {@link ScriptEventBridge}.
+ */
+public class EventFilter {
+
+    private final Set<String> blocks;
+    private final PlayerHand hand;
+    private final UUID instance;
+    private final Tag<String> instanceTag;
+    private final String instanceTagValue;
+    private final double[] box;
+    private final int permissionLevel;
+
+    private EventFilter(Set<String> blocks, PlayerHand hand, UUID instance, Tag<String> instanceTag, String instanceTagValue,
+                        double[] box, int permissionLevel) {
+        this.blocks = blocks;
+        this.hand = hand;
+        this.instance = instance;
+        this.instanceTag = instanceTag;
+        this.instanceTagValue = instanceTagValue;
+        this.box = box;
+        this.permissionLevel = permissionLevel;
+    }
+
+    /**
+     * Returns a filter that only accepts events of one instance.
+     */
+    public static EventFilter forInstance(UUID instance) {
+        return new EventFilter(null, null, instance, null, null, null, 0);
+    }
+
+    public EventFilter withInstance(UUID instance) {
+        return new EventFilter(blocks, hand, instance, instanceTag, instanceTagValue, box, permissionLevel);
+    }
+
+    /**
+     * Returns the instance or instance tag this filter is restricted to, or null.
+     */
+    public ListenerScope scope() {
+        if (instance != null) {
+            return ListenerScope.ofInstance(instance);
+        }
+        return instanceTag != null ? ListenerScope.ofTag(instanceTag.getKey(), instanceTagValue) : null;
+    }
+
+    /**
+     * Returns this filter without its scope, for listeners whose scope is already applied by the event tree.
+     */
+    public EventFilter unscoped() {
+        return new EventFilter(blocks, hand, null, null, null, box, permissionLevel);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the filter object is malformed.
+     */
+    public static EventFilter compile(Value filter) {
+        if (filter == null || filter.isNull() || !filter.hasMembers()) {
+            throw new IllegalArgumentException("Filter must be an object.");
+        }
+
+        Set<String> blocks = null;
+        if (filter.hasMember("blocks")) {
+            Value blocksValue = filter.getMember("blocks");
+            if (!blocksValue.hasArrayElements()) {
+                throw new IllegalArgumentException("'blocks' must be an array of block ids.");
+            }
+            blocks = new HashSet<>();
+            for (long i = 0; i < blocksValue.getArraySize(); i++) {
+                blocks.add(blocksValue.getArrayElement(i).asString());
+            }
+        }
+
+        PlayerHand hand = null;
+        if (filter.hasMember("hand")) {
+            hand = switch (filter.getMember("hand").asString()) {
+                case "main_hand" -> PlayerHand.MAIN;
+                case "off_hand" -> PlayerHand.OFF;
+                default -> throw new IllegalArgumentException("'hand' must be 'main_hand' or 'off_hand'.");
+            };
+        }
+
+        UUID instance = null;
+        if (filter.hasMember("instance")) {
+            instance = UUID.fromString(filter.getMember("instance").asString());
+        }
+
+        Tag<String> instanceTag = null;
+        String instanceTagValue = null;
+        if (filter.hasMember("instanceTag")) {
+            Value tagValue = filter.getMember("instanceTag");
+            if (!tagValue.hasMember("name") || !tagValue.hasMember("value")) {
+                throw new IllegalArgumentException("'instanceTag' must have 'name' and 'value'.");
+            }
+            instanceTag = Tag.String(tagValue.getMember("name").asString());
+            instanceTagValue = tagValue.getMember("value").asString();
+        }
+
+        double[] box = filter.hasMember("box") ? parseBox(filter.getMember("box")) : null;
+
+        int permissionLevel = filter.hasMember("permissionLevel") ? filter.getMember("permissionLevel").asInt() : 0;
+        return new EventFilter(blocks, hand, instance, instanceTag, instanceTagValue, box, permissionLevel);
+    }
+
+    /**
+     * Parses a {@code {min: {x, y, z}, max: {x, y, z}}} object into {@code [minX, minY, minZ, maxX, maxY, maxZ]}.
+     * The corners may be given in any order.
+     *
+     * @throws IllegalArgumentException if the object is malformed.
+     */
+    public static double[] parseBox(Value boxValue) {
+        if (boxValue == null || !boxValue.hasMember("min") || !boxValue.hasMember("max")) {
+            throw new IllegalArgumentException("Box must have 'min' and 'max' points.");
+        }
+        Value min = boxValue.getMember("min");
+        Value max = boxValue.getMember("max");
+        return new double[]{
+                Math.min(min.getMember("x").asDouble(), max.getMember("x").asDouble()),
+                Math.min(min.getMember("y").asDouble(), max.getMember("y").asDouble()),
+                Math.min(min.getMember("z").asDouble(), max.getMember("z").asDouble()),
+                Math.max(min.getMember("x").asDouble(), max.getMember("x").asDouble()),
+                Math.max(min.getMember("y").asDouble(), max.getMember("y").asDouble()),
+                Math.max(min.getMember("z").asDouble(), max.getMember("z").asDouble())
+        };
+    }
+
+    /**
+     * @param player   The player involved in the event, if any.
+     * @param position The event position (block position, new position...), or null to use the player's.
+     * @param block    The block involved in the event, if any.
+     * @param hand     The hand involved in the event, if any.
+     */
+    public boolean test(Player player, Point position, Block block, PlayerHand hand) {
+        if (blocks != null && (block == null || !blocks.contains(block.key().asString()))) {
+            return false;
+        }
+        if (this.hand != null && this.hand != hand) {
+            return false;
+        }
+        if (instance != null || instanceTag != null) {
+            Instance playerInstance = player != null ? player.getInstance() : null;
+            if (playerInstance == null
+                    || (instance != null && !instance.equals(playerInstance.getUuid()))
+                    || (instanceTag != null && !instanceTagValue.equals(playerInstance.getTag(instanceTag)))) {
+                return false;
+            }
+        }
+        if (box != null) {
+            Point point = position != null ? position : (player != null ? player.getPosition() : null);
+            if (point == null
+                    || point.x() < box[0] || point.y() < box[1] || point.z() < box[2]
+                    || point.x() > box[3] || point.y() > box[4] || point.z() > box[5]) {
+                return false;
+            }
+        }
+        return permissionLevel <= 0 || (player != null && player.getPermissionLevel() >= permissionLevel);
+    }
+}
@@ -3,17 +3,25 @@ package ca.atlasengine.scripting;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.GlobalEventHandler;
+import net.minestom.server.event.instance.InstanceChunkLoadEvent;
+import net.minestom.server.event.instance.InstanceChunkUnloadEvent;
+import net.minestom.server.event.instance.InstanceUnregisterEvent;
+import net.minestom.server.event.player.PlayerBlockBreakEvent;
 import net.minestom.server.event.player.PlayerBlockInteractEvent;
+import net.minestom.server.event.player.PlayerBlockPlaceEvent;
 import net.minestom.server.event.player.PlayerDisconnectEvent;
 import net.minestom.server.event.player.PlayerMoveEvent;
 import net.minestom.server.event.player.PlayerSpawnEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.timer.TaskSchedule;
 
 public class EventHooks {
 
-    private final ScriptingManager scriptingManager;
+    private static final int REGION_RECONCILE_TICKS = 10;
+    private final ScriptPackManager packManager;
 
-    public EventHooks(ScriptingManager scriptingManager) {
-        this.scriptingManager = scriptingManager;
+    public EventHooks(ScriptPackManager packManager) {
+        this.packManager = packManager;
     }
 
     public void registerEventHandlers() {
@@ -21,27 +29,66 @@ public class EventHooks {
 
         globalEventHandler.addListener(PlayerDisconnectEvent.class, event -> {
             final Player player = event.getPlayer();
-            scriptingManager.firePlayerLeaveEvent(player);
+            packManager.forEach(scriptingManager -> {
+                scriptingManager.firePlayerLeaveEvent(player);
+                scriptingManager.getRegionManager().removePlayer(player);
+            });
         });
 
         globalEventHandler.addListener(PlayerSpawnEvent.class, event -> {
             final Player player = event.getPlayer();
             if (event.isFirstSpawn()) {
-                scriptingManager.firePlayerJoinEvent(player);
+                packManager.forEach(scriptingManager -> scriptingManager.firePlayerJoinEvent(player));
             }
+            // Spawning in another instance leaves the regions of the previous one
+            packManager.forEach(scriptingManager -> scriptingManager.getRegionManager().update(player, player.getPosition()));
         });
 
         globalEventHandler.addListener(PlayerBlockInteractEvent.class, event -> {
-            scriptingManager.firePlayerBlockInteractEvent(event.getPlayer(), event.getBlockPosition(), event.getBlock(), event.getHand());
+            packManager.forEach(scriptingManager -> scriptingManager.firePlayerBlockInteractEvent(
+                    event.getPlayer(), event.getBlockPosition(), event.getBlock(), event.getHand(), event));
         });
 
         globalEventHandler.addListener(PlayerMoveEvent.class, event -> {
             final Player player = event.getPlayer();
-            scriptingManager.firePlayerMoveEvent(player, event.getNewPosition(), event.isOnGround());
+            packManager.forEach(scriptingManager ->
+                    scriptingManager.firePlayerMoveEvent(player, event.getNewPosition(), event.isOnGround(), event));
+            // Regions follow the move only once no listener cancelled it
+            if (!event.isCancelled()) {
+                packManager.forEach(scriptingManager -> scriptingManager.getRegionManager().update(player, event.getNewPosition()));
+            }
+        });
+
+        // Server-side teleports fire no move event; reconcile region membership with the actual positions
+        MinecraftServer.getSchedulerManager().buildTask(() -> {
+            for (Player player : MinecraftServer.getConnectionManager().getOnlinePlayers()) {
+                packManager.forEach(scriptingManager -> scriptingManager.getRegionManager().update(player, player.getPosition()));
+            }
+        }).repeat(TaskSchedule.tick(REGION_RECONCILE_TICKS)).schedule();
+
+        globalEventHandler.addListener(InstanceUnregisterEvent.class, event -> {
+            packManager.forEach(scriptingManager -> scriptingManager.onInstanceUnregister(event.getInstance()));
+            Pathfinder.removeInstance(event.getInstance().getUuid());
         });
 
+        // Keep the pathfinding grid in sync with the world. Player edits are applied after their event,
+        // so the section is dropped on the next tick, once the block has changed.
+        globalEventHandler.addListener(PlayerBlockBreakEvent.class, event ->
+                invalidateNextTick(event.getPlayer().getInstance(), event.getBlockPosition().blockX(), event.getBlockPosition().blockY(), event.getBlockPosition().blockZ()));
+        globalEventHandler.addListener(PlayerBlockPlaceEvent.class, event ->
+                invalidateNextTick(event.getPlayer().getInstance(), event.getBlockPosition().blockX(), event.getBlockPosition().blockY(), event.getBlockPosition().blockZ()));
+        globalEventHandler.addListener(InstanceChunkLoadEvent.class, event ->
+                Pathfinder.invalidateChunk(event.getInstance(), event.getChunkX(), event.getChunkZ()));
+        globalEventHandler.addListener(InstanceChunkUnloadEvent.class, event ->
+                Pathfinder.invalidateChunk(event.getInstance(), event.getChunkX(), event.getChunkZ()));
+
         System.out.println("EventHooks: Registered Hooks");
     }
+
+    private static void invalidateNextTick(Instance instance, int x, int y, int z) {
+        if (instance == null) return;
+        MinecraftServer.getSchedulerManager().scheduleNextTick(() -> Pathfinder.invalidate(instance, x, y, z));
+    }
 }
 
 
@@ -0,0 +1,35 @@
+package ca.atlasengine.scripting;
+
+import java.util.UUID;
+
+/**
+ * Restricts script listeners to one instance, or to instances carrying a string tag value.
+ *
+ * @param instanceId The instance, or null for a tag scope.
+ * @param tagName    The tag key, or null for an instance scope.
+ * @param tagValue   The value the tag must have.
+ */
+public record ListenerScope(UUID instanceId, String tagName, String tagValue) {
+
+    public static ListenerScope ofInstance(UUID instanceId) {
+        return new ListenerScope(instanceId, null, null);
+    }
+
+    public static ListenerScope ofTag(String tagName, String tagValue) {
+        return new ListenerScope(null, tagName, tagValue);
+    }
+
+    /**
+     * Returns a stable key identifying the scope, e.g. {@code instance:<uuid>} or {@code tag:<name>=<value>}.
+     */
+    public String key() {
+        return instanceId != null ? "instance:" + instanceId : "tag:" + tagName + "=" + tagValue;
+    }
+
+    /**
+     * Returns the internal event name of a scoped listener, which gets its own listener array.
+     */
+    public String eventName(String scriptEventName) {
+        return scriptEventName + "@" + key();
+    }
+}
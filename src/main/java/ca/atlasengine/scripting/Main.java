@@ -20,6 +20,7 @@ import java.util.Map;
 
 public class Main {
 
+    private static ScriptPackManager packManager;
     private static ScriptingManager scriptingManager;
 
     private static ScriptInstance createScriptInstance(Map<String, String> overrides, ScriptingManager scriptingManager) {
@@ -33,14 +34,15 @@ public class Main {
         GraalVmFileSystemAdapter fsAdapter = new GraalVmFileSystemAdapter(inMemoryFs, scriptsRootPath);
 
         // Create and return the script instance
-        return new ScriptInstance(new MinestomBridge(scriptingManager), fsAdapter);
+        return new ScriptInstance(scriptingManager.getBridge(), fsAdapter);
     }
 
     public static void main(String[] args) {
         // Initialization
         MinecraftServer minecraftServer = MinecraftServer.init();
         InstanceManager instanceManager = MinecraftServer.getInstanceManager();
-        scriptingManager = new ScriptingManager();
+        packManager = new ScriptPackManager();
+        scriptingManager = packManager.getMainPack();
 
         // Create the instance
         InstanceContainer instanceContainer = instanceManager.createInstanceContainer();
@@ -57,7 +59,7 @@ public class Main {
             player.setRespawnPoint(new Pos(0, 42, 0));
         });
 
-        EventHooks eventHooks = new EventHooks(scriptingManager);
+        EventHooks eventHooks = new EventHooks(packManager);
         eventHooks.registerEventHandlers();
 
         // Load the main script once on startup
@@ -80,10 +82,12 @@ public class Main {
             player.sendMessage("Executing ad-hoc JavaScript: " + scriptToExecute);
 
             ScriptInstance tempScriptInstance = null;
+            // A throwaway manager without storage; closing it stops its queues and tasks along with the snippet
+            ScriptingManager adhocManager = new ScriptingManager(ScriptPackManager.AD_HOC_PACK, Paths.get("scripts"), PackLimits.DEFAULT);
             try {
                 Map<String, String> adhocOverrides = Collections.emptyMap();
 
-                tempScriptInstance = createScriptInstance(adhocOverrides, new ScriptingManager());
+                tempScriptInstance = createScriptInstance(adhocOverrides, adhocManager);
                 Value result = tempScriptInstance.eval(scriptToExecute);
                 String stdout = tempScriptInstance.getStdout();
                 String stderr = tempScriptInstance.getStderr();
@@ -95,6 +99,7 @@ public class Main {
                 e.printStackTrace();
             } finally {
                 if (tempScriptInstance != null) tempScriptInstance.close();
+                adhocManager.close();
             }
         }, scriptArgument);
         MinecraftServer.getCommandManager().register(jsCommand);
@@ -117,14 +122,46 @@ public class Main {
 
         MinecraftServer.getCommandManager().register(runJsFileCommand);
 
+        // Register a command to load, unload and list script packs
+        Command packCommand = new Command("pack");
+        packCommand.setDefaultExecutor((sender, context) -> {
+            sender.sendMessage("Usage: /pack <load|unload> <name> or /pack list");
+            sender.sendMessage("Packs are loaded from 'scripts/packs/<name>' and run in their own context.");
+        });
+
+        var packActionArgument = ArgumentType.Word("action").from("load", "unload");
+        var packNameArgument = ArgumentType.Word("name");
+
+        packCommand.addSyntax((sender, context) -> {
+            String packName = context.get(packNameArgument);
+            Player player = (sender instanceof Player) ? (Player) sender : null;
+
+            if (context.get(packActionArgument).equals("load")) {
+                packManager.load(packName, player);
+            } else if (packManager.unload(packName)) {
+                sender.sendMessage("Script pack unloaded: " + packName);
+            } else {
+                sender.sendMessage("Error: Script pack not loaded or cannot be unloaded: " + packName);
+            }
+        }, packActionArgument, packNameArgument);
+
+        packCommand.addSyntax((sender, context) -> {
+            for (ScriptingManager pack : packManager.getPacks()) {
+                String fileName = pack.getCurrentScriptFileName();
+                sender.sendMessage(pack.getPackName() + ": " + (fileName != null ? fileName : "not running"));
+            }
+        }, ArgumentType.Literal("list"));
+
+        MinecraftServer.getCommandManager().register(packCommand);
+
         minecraftServer.start("0.0.0.0", 25565);
         System.out.println("Server started. Use /runjsfile <filename> to load/reload scripts.");
 
         // Add a shutdown hook to close the scripting manager
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            System.out.println("Shutting down server, closing ScriptingManager...");
-            if (scriptingManager != null) {
-                scriptingManager.close();
+            System.out.println("Shutting down server, closing script packs...");
+            if (packManager != null) {
+                packManager.closeAll();
             }
         }));
     }
@@ -1,12 +1,31 @@
 package ca.atlasengine.scripting;
 
+import ca.atlasengine.scripting.api.AudienceApi;
+import ca.atlasengine.scripting.api.CacheApi;
 import ca.atlasengine.scripting.api.CommandApi;
+import ca.atlasengine.scripting.api.GeneratorApi;
+import ca.atlasengine.scripting.api.IoApi;
+import ca.atlasengine.scripting.api.OutboundApi;
+import ca.atlasengine.scripting.api.PlayerDataApi;
+import ca.atlasengine.scripting.api.RegionApi;
 import ca.atlasengine.scripting.api.BroadcastMessage;
 import ca.atlasengine.scripting.api.Schedule;
 import ca.atlasengine.scripting.api.SendMessage;
 import ca.atlasengine.scripting.api.SetPlayerGamemode;
+import ca.atlasengine.scripting.api.StateApi;
+import ca.atlasengine.scripting.api.StorageApi;
+import ca.atlasengine.scripting.api.TemplateApi;
+import ca.atlasengine.scripting.api.WorkerApi;
+import net.minestom.server.entity.Player;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 public class MinestomBridge {
     private final ScriptingManager scriptingManager;
@@ -15,14 +34,55 @@ public class MinestomBridge {
     private final SetPlayerGamemode setPlayerGamemode;
     private final Schedule schedule;
     private final CommandApi commandApi;
+    private final StateApi stateApi;
+    private final StorageApi storageApi;
+    private final WorkerApi workerApi;
+    private final AudienceApi audienceApi;
+    private final TemplateApi templateApi;
+    private final GeneratorApi generatorApi;
+    private final CacheApi cacheApi;
+
+    // Namespaces exposed to scripts as minestom.<name>
+    @HostAccess.Export
+    public final ProxyObject state;
+    @HostAccess.Export
+    public final ProxyObject storage;
+    @HostAccess.Export
+    public final ProxyObject io;
+    @HostAccess.Export
+    public final ProxyObject regions;
+    @HostAccess.Export
+    public final ProxyObject audiences;
+    @HostAccess.Export
+    public final ProxyObject outbound;
+    @HostAccess.Export
+    public final ProxyObject playerData;
 
     public MinestomBridge(ScriptingManager scriptingManager) {
         this.scriptingManager = scriptingManager;
-        this.sendMessage = new SendMessage();
+        this.sendMessage = new SendMessage(scriptingManager.getOutboundQueue());
         this.broadcastMessage = new BroadcastMessage();
         this.setPlayerGamemode = new SetPlayerGamemode();
         this.schedule = new Schedule(scriptingManager);
         this.commandApi = new CommandApi(scriptingManager);
+        this.stateApi = new StateApi(scriptingManager);
+        this.state = this.stateApi.createProxy();
+        // Other packs keep their logs in a directory of their own, so no pack name can reach the main pack's log
+        String packName = scriptingManager.getPackName();
+        this.storageApi = new StorageApi(scriptingManager, ScriptPackManager.AD_HOC_PACK.equals(packName) ? null
+                : ScriptPackManager.MAIN_PACK.equals(packName) ? Paths.get("storage", "scripts.log")
+                : Paths.get("storage", "packs", packName + ".log"));
+        this.storage = this.storageApi.createProxy();
+        this.workerApi = new WorkerApi(scriptingManager);
+        this.io = new IoApi(scriptingManager).createProxy();
+        this.regions = new RegionApi(scriptingManager.getRegionManager()).createProxy();
+        this.audienceApi = new AudienceApi(scriptingManager);
+        this.audiences = this.audienceApi.createProxy();
+        this.templateApi = new TemplateApi(scriptingManager);
+        this.generatorApi = new GeneratorApi(scriptingManager);
+        this.outbound = new OutboundApi(scriptingManager.getOutboundQueue()).createProxy();
+        this.playerData = new PlayerDataApi(scriptingManager).createProxy();
+        this.cacheApi = new CacheApi(scriptingManager);
     }
 
     @HostAccess.Export
@@ -35,8 +95,86 @@ public class MinestomBridge {
     }
 
     @HostAccess.Export
-    public void sendMessage(String playerUuidString, String message) {
-        this.sendMessage.execute(playerUuidString, message);
+    public void on(String eventName, Value filter, Value jsCallback) {
+        registerFiltered(eventName, filter, jsCallback, null);
+    }
+
+    private void registerFiltered(String eventName, Value filter, Value jsCallback, UUID instanceId) {
+        if (jsCallback == null || !jsCallback.canExecute()) {
+            System.err.println("MinestomBridge.on: Invalid or non-executable callback provided for event: " + eventName);
+            return;
+        }
+        EventFilter eventFilter;
+        int priority;
+        try {
+            eventFilter = EventFilter.compile(filter);
+            if (instanceId != null) {
+                eventFilter = eventFilter.withInstance(instanceId);
+            }
+            priority = filter.hasMember("priority") ? filter.getMember("priority").asInt() : 0;
+        } catch (Exception e) {
+            System.err.println("MinestomBridge.on: Invalid filter for event " + eventName + ": " + e.getMessage());
+            return;
+        }
+        scriptingManager.registerJsEventListener(eventName, jsCallback, eventFilter, priority);
+    }
+
+    /**
+     * Returns an object whose {@code on} registers listeners scoped to one instance, so a script hosting
+     * one world does not see events of the others.
+     *
+     * @param instance Instance UUID string, or an instance object with a {@code uuid} member.
+     */
+    @HostAccess.Export
+    public Object forInstance(Value instance) {
+        UUID instanceId;
+        try {
+            Value uuidValue = instance.isString() ? instance : instance.getMember("uuid");
+            instanceId = UUID.fromString(uuidValue.isString() ? uuidValue.asString() : uuidValue.toString());
+        } catch (Exception e) {
+            System.err.println("MinestomBridge.forInstance: Invalid instance: " + e.getMessage());
+            return null;
+        }
+        Map<String, Object> scoped = new HashMap<>();
+        scoped.put("uuid", instanceId.toString());
+        scoped.put("on", (ProxyExecutable) (Value... args) -> {
+            if (args.length == 2 && args[0].isString()) {
+                if (args[1] == null || !args[1].canExecute()) {
+                    System.err.println("MinestomBridge.forInstance.on: Invalid or non-executable callback provided for event: " + args[0].asString());
+                    return null;
+                }
+                scriptingManager.registerJsEventListener(args[0].asString(), args[1], EventFilter.forInstance(instanceId), 0);
+            } else if (args.length == 3 && args[0].isString()) {
+                registerFiltered(args[0].asString(), args[1], args[2], instanceId);
+            } else {
+                System.err.println("MinestomBridge.forInstance.on: Invalid arguments. Expected (eventName, [options], callback).");
+            }
+            return null;
+        });
+        return ProxyObject.fromMap(scoped);
+    }
+
+    /**
+     * @param player A player handle or a player UUID string.
+     */
+    @HostAccess.Export
+    public void sendMessage(Value player, String message) {
+        Player target = scriptingManager.resolvePlayer(player);
+        if (target == null) {
+            System.err.println("MinestomBridge.sendMessage: No online player for " + player);
+            return;
+        }
+        this.sendMessage.execute(target, message);
+    }
+
+    @HostAccess.Export
+    public Object template(String source) {
+        return this.templateApi.template(source, null);
+    }
+
+    @HostAccess.Export
+    public Object template(String source, Value options) {
+        return this.templateApi.template(source, options);
     }
 
     @HostAccess.Export
@@ -53,8 +191,70 @@ public class MinestomBridge {
         return this.schedule.schedule(delayInTicks);
     }
 
+    @HostAccess.Export
+    public Value defer(Value iterable, Value fn) {
+        return this.schedule.defer(iterable, fn, null);
+    }
+
+    /**
+     * Processes the items across ticks, spending at most {@code options.budgetMs} per tick.
+     */
+    @HostAccess.Export
+    public Value defer(Value iterable, Value fn, Value options) {
+        return this.schedule.defer(iterable, fn, options);
+    }
+
+    @HostAccess.Export
+    public Object cache(String name) {
+        return this.cacheApi.cache(name, null);
+    }
+
+    /**
+     * Returns a named host-side cache shared by every script context and kept across reloads.
+     */
+    @HostAccess.Export
+    public Object cache(String name, Value options) {
+        return this.cacheApi.cache(name, options);
+    }
+
     @HostAccess.Export
     public void registerCommand(Value commandDefinitionValue) {
         commandApi.register(commandDefinitionValue);
     }
+
+    @HostAccess.Export
+    public Object worker(String fileName) {
+        return this.workerApi.createWorker(fileName);
+    }
+
+    /**
+     * Generates the instance's chunks with a script module, run in parallel per-thread contexts.
+     *
+     * @param instance Instance UUID string, or an instance object with a {@code uuid} member.
+     */
+    @HostAccess.Export
+    public boolean registerGenerator(Value instance, String fileName) {
+        return this.generatorApi.register(instance, fileName);
+    }
+
+    /**
+     * Drops host-side references to a player that left.
+     */
+    public void playerLeft(Player player) {
+        this.audienceApi.removePlayer(player);
+    }
+
+    /**
+     * Releases resources owned by the script that is being unloaded. Reload-surviving state is kept.
+     */
+    public void unloadScript() {
+        this.workerApi.terminateAll();
+        this.schedule.cancelDeferred();
+    }
+
+    public void close() {
+        unloadScript();
+        this.generatorApi.closeAll();
+        this.storageApi.close();
+    }
 }
@@ -0,0 +1,159 @@
+package ca.atlasengine.scripting;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.title.Title;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Player;
+import net.minestom.server.timer.ExecutionType;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-player outbound queue for script-originated chat lines, action bars and titles.
+ * <p>
+ * Within a tick, identical chat lines are sent once and only the latest action bar and title are kept.
+ * Lines over the per-tick or per-second budget are dropped. At the end of each tick, every player's
+ * pending lines are joined into a single chat packet.
+ */
+public class OutboundQueue {
+
+    private static final int WINDOW_TICKS = 20;
+
+    private volatile int maxLinesPerTick = 16;
+    private volatile int maxLinesPerSecond = 100;
+    private final Map<UUID, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final AtomicLong droppedLines = new AtomicLong();
+    private final AtomicLong dedupedLines = new AtomicLong();
+    private volatile Task flushTask;
+    private long tick;
+
+    private static final class Outbox {
+        final Player player;
+        final LinkedHashSet<Component> lines = new LinkedHashSet<>();
+        Component actionBar;
+        Title title;
+        int linesThisWindow;
+        long windowStart;
+
+        Outbox(Player player) {
+            this.player = player;
+        }
+    }
+
+    public void configure(int maxLinesPerTick, int maxLinesPerSecond) {
+        this.maxLinesPerTick = Math.max(1, maxLinesPerTick);
+        this.maxLinesPerSecond = Math.max(1, maxLinesPerSecond);
+    }
+
+    public int getMaxLinesPerTick() {
+        return this.maxLinesPerTick;
+    }
+
+    public int getMaxLinesPerSecond() {
+        return this.maxLinesPerSecond;
+    }
+
+    public long getDroppedLines() {
+        return this.droppedLines.get();
+    }
+
+    public long getDedupedLines() {
+        return this.dedupedLines.get();
+    }
+
+    public void sendMessage(Player player, Component line) {
+        Outbox outbox = outbox(player);
+        synchronized (outbox) {
+            if (outbox.lines.contains(line)) {
+                dedupedLines.incrementAndGet();
+            } else if (outbox.lines.size() >= maxLinesPerTick
+                    || outbox.linesThisWindow + outbox.lines.size() >= maxLinesPerSecond) {
+                droppedLines.incrementAndGet();
+            } else {
+                outbox.lines.add(line);
+            }
+        }
+    }
+
+    public void sendActionBar(Player player, Component actionBar) {
+        Outbox outbox = outbox(player);
+        synchronized (outbox) {
+            outbox.actionBar = actionBar;
+        }
+    }
+
+    public void showTitle(Player player, Title title) {
+        Outbox outbox = outbox(player);
+        synchronized (outbox) {
+            outbox.title = title;
+        }
+    }
+
+    public void removePlayer(Player player) {
+        outboxes.remove(player.getUuid());
+    }
+
+    private Outbox outbox(Player player) {
+        if (flushTask == null) {
+            start();
+        }
+        return outboxes.computeIfAbsent(player.getUuid(), uuid -> new Outbox(player));
+    }
+
+    private synchronized void start() {
+        if (flushTask == null) {
+            flushTask = MinecraftServer.getSchedulerManager().buildTask(this::flush)
+                    .executionType(ExecutionType.TICK_END)
+                    .repeat(TaskSchedule.nextTick())
+                    .schedule();
+        }
+    }
+
+    private void flush() {
+        tick++;
+        for (Outbox outbox : outboxes.values()) {
+            Component chat = null;
+            Component actionBar;
+            Title title;
+            synchronized (outbox) {
+                if (tick - outbox.windowStart >= WINDOW_TICKS) {
+                    outbox.windowStart = tick;
+                    outbox.linesThisWindow = 0;
+                }
+                if (!outbox.lines.isEmpty()) {
+                    chat = outbox.lines.size() == 1
+                            ? outbox.lines.iterator().next()
+                            : Component.join(JoinConfiguration.newlines(), outbox.lines);
+                    outbox.linesThisWindow += outbox.lines.size();
+                    outbox.lines.clear();
+                }
+                actionBar = outbox.actionBar;
+                title = outbox.title;
+                outbox.actionBar = null;
+                outbox.title = null;
+            }
+            if (!outbox.player.isOnline()) {
+                outboxes.remove(outbox.player.getUuid());
+                continue;
+            }
+            if (chat != null) outbox.player.sendMessage(chat);
+            if (actionBar != null) outbox.player.sendActionBar(actionBar);
+            if (title != null) outbox.player.showTitle(title);
+        }
+    }
+
+    public synchronized void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        outboxes.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package ca.atlasengine.scripting;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Resource quotas of a script pack, read from the pack's {@code pack.properties}.
+ * <p>
+ * {@code maxStatementsPerEntry} is enforced with GraalVM {@code ResourceLimits} and reset after every entry
+ * from the host (event, command...). {@code maxCpuTimeMs} and {@code maxHeapMb} map to the
+ * {@code sandbox.MaxCPUTime} and {@code sandbox.MaxHeapMemory} context options when {@code sandbox=true}
+ * and the runtime supports them; otherwise the CPU quota falls back to a host watchdog that cancels
+ * entries running longer than the quota (wall time), and the heap quota is not enforced.
+ *
+ * @param entry                 The pack's entry module, relative to its directory.
+ * @param maxStatementsPerEntry Statement limit per entry, or 0 for none.
+ * @param maxCpuTimeMs          Time limit per entry in milliseconds, or 0 for none.
+ * @param maxHeapMb             Heap limit of the context in megabytes, or 0 for none.
+ * @param sandboxOptions        Whether to pass the sandbox options to the context.
+ */
+public record PackLimits(String entry, long maxStatementsPerEntry, long maxCpuTimeMs, long maxHeapMb, boolean sandboxOptions) {
+
+    public static final PackLimits DEFAULT = new PackLimits("main.js", 100000, 0, 0, false);
+
+    /**
+     * Reads the limits from a properties file; missing keys (or a missing file) keep their defaults.
+     */
+    public static PackLimits load(Path propertiesFile) throws IOException {
+        if (!Files.exists(propertiesFile)) {
+            return DEFAULT;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(propertiesFile)) {
+            properties.load(reader);
+        }
+        return new PackLimits(
+                properties.getProperty("entry", DEFAULT.entry()),
+                Long.parseLong(properties.getProperty("maxStatementsPerEntry", Long.toString(DEFAULT.maxStatementsPerEntry()))),
+                Long.parseLong(properties.getProperty("maxCpuTimeMs", "0")),
+                Long.parseLong(properties.getProperty("maxHeapMb", "0")),
+                Boolean.parseBoolean(properties.getProperty("sandbox", "false")));
+    }
+}
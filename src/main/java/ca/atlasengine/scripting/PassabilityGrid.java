@@ -0,0 +1,113 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Solidity bits of an instance's blocks, one 4096-bit set per 16x16x16 section, built on demand from the
+ * chunk palettes and cached until a block in the section changes.
+ * <p>
+ * Sections are read under the chunk lock, so a cached section is a consistent snapshot that pathfinding
+ * threads can read without touching the chunk again. Unloaded chunks read as solid and are not cached.
+ */
+public class PassabilityGrid {
+
+    private static final BitSet SOLID_STATES = new BitSet();
+    private static final long[] ALL_SOLID = new long[64];
+    private static final long[] ALL_OPEN = new long[64];
+
+    static {
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                if (state.isSolid()) {
+                    SOLID_STATES.set(state.stateId());
+                }
+            }
+        }
+        Arrays.fill(ALL_SOLID, -1L);
+    }
+
+    private final Instance instance;
+    private final Map<Long, long[]> sections = new ConcurrentHashMap<>();
+    // Bumped before every invalidation; a section built across a bump may predate the change and is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public PassabilityGrid(Instance instance) {
+        this.instance = instance;
+    }
+
+    /**
+     * Returns whether a block state is solid, from a table built once for every state.
+     */
+    public static boolean isSolidState(int stateId) {
+        return SOLID_STATES.get(stateId);
+    }
+
+    public boolean isSolid(int x, int y, int z) {
+        long[] bits = section(x >> 4, y >> 4, z >> 4);
+        int index = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Drops the cached section holding the block, so the next read sees the change.
+     */
+    public void invalidate(int x, int y, int z) {
+        generation.incrementAndGet();
+        sections.remove(key(x >> 4, y >> 4, z >> 4));
+    }
+
+    public void invalidateChunk(int chunkX, int chunkZ) {
+        generation.incrementAndGet();
+        sections.keySet().removeIf(key -> sectionX(key) == chunkX && sectionZ(key) == chunkZ);
+    }
+
+    private long[] section(int sectionX, int sectionY, int sectionZ) {
+        long key = key(sectionX, sectionY, sectionZ);
+        long[] bits = sections.get(key);
+        if (bits != null) {
+            return bits;
+        }
+        Chunk chunk = instance.getChunk(sectionX, sectionZ);
+        if (chunk == null) {
+            return ALL_SOLID;
+        }
+        if (sectionY < chunk.getMinSection() || sectionY >= chunk.getMaxSection()) {
+            return ALL_OPEN;
+        }
+        long builtGeneration = generation.get();
+        long[] built = new long[64];
+        synchronized (chunk) {
+            Palette palette = chunk.getSection(sectionY).blockPalette();
+            palette.getAllPresent((x, y, z, stateId) -> {
+                if (SOLID_STATES.get(stateId)) {
+                    int index = (y << 8) | (z << 4) | x;
+                    built[index >>> 6] |= 1L << index;
+                }
+            });
+        }
+        // Published atomically against the generation: an invalidation that raced the build wins
+        sections.compute(key, (k, current) -> generation.get() == builtGeneration ? built : current);
+        return built;
+    }
+
+    private static long key(int sectionX, int sectionY, int sectionZ) {
+        return ((long) (sectionX & 0x3FFFFFF) << 38) | ((long) (sectionZ & 0x3FFFFFF) << 12) | (sectionY & 0xFFF);
+    }
+
+    private static int sectionX(long key) {
+        return (int) (key >> 38);
+    }
+
+    private static int sectionZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+}
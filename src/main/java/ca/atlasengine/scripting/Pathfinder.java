@@ -0,0 +1,181 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Instance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Walking paths for script-controlled entities, searched with A* on a shared worker pool.
+ * <p>
+ * A node is a block position an entity can stand in: its block and the one above are not solid and the
+ * block below is. Moves go to the four horizontal neighbours, stepping up at most one block or dropping
+ * at most {@code maxDrop}. Solidity comes from a per-instance {@link PassabilityGrid}, so searches never
+ * touch chunks that were already read.
+ */
+public final class Pathfinder {
+
+    private static final int POOL_SIZE = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+        Thread thread = new Thread(runnable, "script-pathfinder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<UUID, PassabilityGrid> GRIDS = new ConcurrentHashMap<>();
+    private static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    /**
+     * @param maxNodes Nodes expanded before the search gives up.
+     * @param maxDrop  Highest drop allowed in one move.
+     */
+    public record Options(int maxNodes, int maxDrop) {
+        public static final Options DEFAULT = new Options(10000, 3);
+    }
+
+    private static final class Node implements Comparable<Node> {
+        final int x, y, z;
+        final Node parent;
+        final int cost;
+        final int estimate;
+
+        Node(int x, int y, int z, Node parent, int cost, int estimate) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.parent = parent;
+            this.cost = cost;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            return Integer.compare(cost + estimate, other.cost + other.estimate);
+        }
+    }
+
+    private Pathfinder() {
+    }
+
+    public static PassabilityGrid grid(Instance instance) {
+        return GRIDS.computeIfAbsent(instance.getUuid(), uuid -> new PassabilityGrid(instance));
+    }
+
+    public static void invalidate(Instance instance, int x, int y, int z) {
+        PassabilityGrid grid = GRIDS.get(instance.getUuid());
+        if (grid != null) grid.invalidate(x, y, z);
+    }
+
+    public static void invalidateChunk(Instance instance, int chunkX, int chunkZ) {
+        PassabilityGrid grid = GRIDS.get(instance.getUuid());
+        if (grid != null) grid.invalidateChunk(chunkX, chunkZ);
+    }
+
+    public static void removeInstance(UUID instanceId) {
+        GRIDS.remove(instanceId);
+    }
+
+    /**
+     * Searches a path between two block positions off the calling thread.
+     *
+     * @return The block positions to walk through, start and goal included, or an empty list if there is no
+     * path within the node budget.
+     */
+    public static CompletableFuture<List<Vec>> findPath(Instance instance, Vec from, Vec to, Options options) {
+        PassabilityGrid grid = grid(instance);
+        return CompletableFuture.supplyAsync(() -> search(grid, from.blockX(), from.blockY(), from.blockZ(),
+                to.blockX(), to.blockY(), to.blockZ(), options), POOL);
+    }
+
+    private static List<Vec> search(PassabilityGrid grid, int startX, int startY, int startZ, int goalX, int goalY, int goalZ, Options options) {
+        PriorityQueue<Node> open = new PriorityQueue<>();
+        Map<Long, Integer> bestCost = new HashMap<>();
+        open.add(new Node(startX, startY, startZ, null, 0, distance(startX, startY, startZ, goalX, goalY, goalZ)));
+        bestCost.put(key(startX, startY, startZ), 0);
+        int expanded = 0;
+        while (!open.isEmpty() && expanded < options.maxNodes()) {
+            Node node = open.poll();
+            if (node.x == goalX && node.y == goalY && node.z == goalZ) {
+                return toPath(node);
+            }
+            Integer known = bestCost.get(key(node.x, node.y, node.z));
+            if (known != null && known < node.cost) {
+                continue; // Stale queue entry, a cheaper way here was found later
+            }
+            expanded++;
+            for (int[] direction : DIRECTIONS) {
+                int x = node.x + direction[0], z = node.z + direction[1];
+                int y = standingHeight(grid, node, x, z, options.maxDrop());
+                if (y == Integer.MIN_VALUE) {
+                    continue;
+                }
+                int cost = node.cost + 10 + (y != node.y ? 4 : 0);
+                long key = key(x, y, z);
+                Integer previous = bestCost.get(key);
+                if (previous != null && previous <= cost) {
+                    continue;
+                }
+                bestCost.put(key, cost);
+                open.add(new Node(x, y, z, node, cost, distance(x, y, z, goalX, goalY, goalZ)));
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the height an entity ends up standing at after moving into the column, or {@code Integer.MIN_VALUE}
+     * if the move is blocked.
+     */
+    private static int standingHeight(PassabilityGrid grid, Node from, int x, int z, int maxDrop) {
+        int fromY = from.y;
+        if (canStand(grid, x, fromY, z)) {
+            return fromY;
+        }
+        // Step up one block, if there is headroom above the current position
+        if (canStand(grid, x, fromY + 1, z) && !grid.isSolid(from.x, fromY + 2, from.z)) {
+            return fromY + 1;
+        }
+        if (grid.isSolid(x, fromY, z) || grid.isSolid(x, fromY + 1, z)) {
+            return Integer.MIN_VALUE;
+        }
+        for (int y = fromY - 1; y >= fromY - maxDrop; y--) {
+            if (grid.isSolid(x, y, z)) {
+                return Integer.MIN_VALUE;
+            }
+            if (canStand(grid, x, y, z)) {
+                return y;
+            }
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    private static boolean canStand(PassabilityGrid grid, int x, int y, int z) {
+        return grid.isSolid(x, y - 1, z) && !grid.isSolid(x, y, z) && !grid.isSolid(x, y + 1, z);
+    }
+
+    private static int distance(int x, int y, int z, int goalX, int goalY, int goalZ) {
+        return 10 * (Math.abs(goalX - x) + Math.abs(goalY - y) + Math.abs(goalZ - z));
+    }
+
+    private static List<Vec> toPath(Node goal) {
+        List<Vec> path = new ArrayList<>();
+        for (Node node = goal; node != null; node = node.parent) {
+            path.add(new Vec(node.x, node.y, node.z));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+}
@@ -0,0 +1,236 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Player;
+import org.graalvm.polyglot.Value;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player attributes stored in columns of primitives instead of per-player objects.
+ * <p>
+ * Each player gets a dense slot when they join, reused by the next player after they leave (the row is
+ * zeroed on release). Players already online when the first column is defined (a pack loaded later) get
+ * their slots then. A column is an off-heap buffer with one value per slot, exposed to scripts as a typed
+ * array over the same memory and readable from Java with {@link Column#get(Player)}. Columns grow by
+ * doubling, which replaces their buffers; data survives script reloads.
+ */
+public class PlayerColumns {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Column element types, named after the typed array scripts see.
+     */
+    public enum Type {
+        INT8("Int8Array", 1), UINT8("Uint8Array", 1), INT16("Int16Array", 2),
+        INT32("Int32Array", 4), FLOAT32("Float32Array", 4), FLOAT64("Float64Array", 8);
+
+        private final String arrayName;
+        private final int width;
+
+        Type(String arrayName, int width) {
+            this.arrayName = arrayName;
+            this.width = width;
+        }
+
+        public String getArrayName() {
+            return this.arrayName;
+        }
+
+        /**
+         * Parses {@code "int32"} style names; returns null for unknown types.
+         */
+        public static Type of(String name) {
+            for (Type type : values()) {
+                if (type.name().equalsIgnoreCase(name)) return type;
+            }
+            return null;
+        }
+    }
+
+    public final class Column {
+        private final String name;
+        private final Type type;
+        private ByteBuffer buffer;
+        private ScriptInstance viewOwner;
+        private ByteBuffer viewBuffer;
+        private Value view;
+
+        private Column(String name, Type type) {
+            this.name = name;
+            this.type = type;
+            this.buffer = allocate(type, capacity);
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public Type getType() {
+            return this.type;
+        }
+
+        /**
+         * Returns the player's value, or 0 if the player has no slot.
+         */
+        public double get(Player player) {
+            int slot = slotOf(player);
+            return slot < 0 ? 0 : get(slot);
+        }
+
+        public synchronized double get(int slot) {
+            int offset = slot * type.width;
+            return switch (type) {
+                case INT8 -> buffer.get(offset);
+                case UINT8 -> buffer.get(offset) & 0xFF;
+                case INT16 -> buffer.getShort(offset);
+                case INT32 -> buffer.getInt(offset);
+                case FLOAT32 -> buffer.getFloat(offset);
+                case FLOAT64 -> buffer.getDouble(offset);
+            };
+        }
+
+        /**
+         * Sets the player's value, assigning them a slot if they are online and have none yet.
+         *
+         * @return false if the player is offline and has no slot.
+         */
+        public boolean set(Player player, double value) {
+            int slot = slotOf(player);
+            if (slot < 0) {
+                if (!player.isOnline()) return false;
+                slot = assign(player);
+            }
+            set(slot, value);
+            return true;
+        }
+
+        public synchronized void set(int slot, double value) {
+            int offset = slot * type.width;
+            switch (type) {
+                case INT8, UINT8 -> buffer.put(offset, (byte) (int) value);
+                case INT16 -> buffer.putShort(offset, (short) (int) value);
+                case INT32 -> buffer.putInt(offset, (int) value);
+                case FLOAT32 -> buffer.putFloat(offset, (float) value);
+                case FLOAT64 -> buffer.putDouble(offset, value);
+            }
+        }
+
+        /**
+         * Returns the typed array over this column for a context, recreated only after growth or a reload.
+         */
+        public synchronized Value view(ScriptInstance scriptInstance) {
+            if (view == null || viewOwner != scriptInstance || viewBuffer != buffer) {
+                view = scriptInstance.wrapBuffer(buffer, type.arrayName);
+                viewOwner = scriptInstance;
+                viewBuffer = buffer;
+            }
+            return view;
+        }
+
+        private synchronized void grow(int newCapacity) {
+            ByteBuffer grown = allocate(type, newCapacity);
+            grown.put(0, buffer, 0, buffer.capacity());
+            buffer = grown;
+        }
+
+        private synchronized void clear(int slot) {
+            for (int i = 0, offset = slot * type.width; i < type.width; i++) {
+                buffer.put(offset + i, (byte) 0);
+            }
+        }
+    }
+
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private final Map<UUID, Integer> slots = new ConcurrentHashMap<>();
+    private final BitSet usedSlots = new BitSet();
+    private int capacity = INITIAL_CAPACITY;
+
+    private static ByteBuffer allocate(Type type, int capacity) {
+        return ByteBuffer.allocateDirect(capacity * type.width).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Defines a column, or returns the existing one if it has the same type.
+     *
+     * @throws IllegalArgumentException if a column with that name exists with another type.
+     */
+    public synchronized Column define(String name, Type type) {
+        Column column = columns.get(name);
+        if (column == null) {
+            if (columns.isEmpty()) {
+                for (Player player : MinecraftServer.getConnectionManager().getOnlinePlayers()) {
+                    assign(player);
+                }
+            }
+            column = new Column(name, type);
+            columns.put(name, column);
+        } else if (column.type != type) {
+            throw new IllegalArgumentException("Column '" + name + "' already exists with type " + column.type.name().toLowerCase());
+        }
+        return column;
+    }
+
+    public synchronized Column getColumn(String name) {
+        return columns.get(name);
+    }
+
+    public synchronized Collection<Column> getColumns() {
+        return List.copyOf(columns.values());
+    }
+
+    public synchronized int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the player's slot, or -1 if they have none.
+     */
+    public int slotOf(Player player) {
+        Integer slot = slots.get(player.getUuid());
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Returns the player's slot, assigning the lowest free one (and growing the columns) if needed.
+     */
+    public synchronized int assign(Player player) {
+        Integer existing = slots.get(player.getUuid());
+        if (existing != null) {
+            return existing;
+        }
+        int slot = usedSlots.nextClearBit(0);
+        if (slot >= capacity) {
+            capacity *= 2;
+            for (Column column : columns.values()) {
+                column.grow(capacity);
+            }
+        }
+        usedSlots.set(slot);
+        slots.put(player.getUuid(), slot);
+        return slot;
+    }
+
+    /**
+     * Frees the player's slot and zeroes its row for the next player.
+     */
+    public synchronized void release(Player player) {
+        Integer slot = slots.remove(player.getUuid());
+        if (slot == null) {
+            return;
+        }
+        for (Column column : columns.values()) {
+            column.clear(slot);
+        }
+        usedSlots.clear(slot);
+    }
+}
@@ -0,0 +1,226 @@
+package ca.atlasengine.scripting;
+
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.minestom.server.entity.Player;
+import net.minestom.server.scoreboard.Sidebar;
+
+import java.util.Arrays;
+
+/**
+ * The sidebar, boss bar and tab list header/footer a script shows to one player.
+ * <p>
+ * Scripts set the whole desired state as often as they like; setters only record it. Once per tick,
+ * {@link #flush()} compares it with what the player last received and sends only what differs: changed
+ * sidebar lines, boss bar fields, or the header/footer. Repeating the same state sends nothing.
+ */
+public class PlayerUi {
+
+    private final Player player;
+
+    // Desired state, written by scripts
+    private String sidebarTitle;
+    private String[] sidebarLines;
+    private String bossBarText;
+    private float bossBarProgress;
+    private BossBar.Color bossBarColor = BossBar.Color.WHITE;
+    private BossBar.Overlay bossBarOverlay = BossBar.Overlay.PROGRESS;
+    private boolean bossBarVisible;
+    private String tabHeader;
+    private String tabFooter;
+    private boolean dirty;
+
+    // State the player last received
+    private Sidebar sidebar;
+    private String sentSidebarTitle;
+    private String[] sentSidebarLines = new String[0];
+    private BossBar bossBar;
+    private String sentBossBarText;
+    private String sentTabHeader;
+    private String sentTabFooter;
+    private long updatesSent;
+
+    public PlayerUi(Player player) {
+        this.player = player;
+    }
+
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    /**
+     * @param lines Lines from top to bottom, or null to hide the sidebar.
+     */
+    public synchronized void setSidebar(String title, String[] lines) {
+        this.sidebarTitle = title != null ? title : "";
+        this.sidebarLines = lines;
+        this.dirty = true;
+    }
+
+    /**
+     * @param visible Whether the boss bar is shown; the other fields are ignored when it is not.
+     */
+    public synchronized void setBossBar(boolean visible, String text, float progress, BossBar.Color color, BossBar.Overlay overlay) {
+        this.bossBarVisible = visible;
+        if (visible) {
+            this.bossBarText = text != null ? text : "";
+            this.bossBarProgress = Math.max(0, Math.min(1, progress));
+            this.bossBarColor = color;
+            this.bossBarOverlay = overlay;
+        }
+        this.dirty = true;
+    }
+
+    public synchronized void setTab(String header, String footer) {
+        this.tabHeader = header != null ? header : "";
+        this.tabFooter = footer != null ? footer : "";
+        this.dirty = true;
+    }
+
+    public synchronized void clear() {
+        this.sidebarLines = null;
+        this.bossBarVisible = false;
+        // Always reset, so a header set earlier in the same tick is not sent; flush skips it if nothing was shown
+        this.tabHeader = "";
+        this.tabFooter = "";
+        this.dirty = true;
+    }
+
+    /**
+     * Number of individual updates (lines, fields, header/footer) sent so far.
+     */
+    public long getUpdatesSent() {
+        return this.updatesSent;
+    }
+
+    /**
+     * Sends the differences between the desired and the last sent state.
+     */
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        flushSidebar();
+        flushBossBar();
+        boolean tabChanged = sentTabHeader != null
+                ? !tabHeader.equals(sentTabHeader) || !tabFooter.equals(sentTabFooter)
+                : tabHeader != null && !(tabHeader.isEmpty() && tabFooter.isEmpty());
+        if (tabChanged) {
+            player.sendPlayerListHeaderAndFooter(Component.text(tabHeader), Component.text(tabFooter));
+            sentTabHeader = tabHeader;
+            sentTabFooter = tabFooter;
+            updatesSent++;
+        }
+    }
+
+    private void flushSidebar() {
+        if (sidebarLines == null) {
+            if (sidebar != null) {
+                sidebar.removeViewer(player);
+                sidebar = null;
+                sentSidebarTitle = null;
+                sentSidebarLines = new String[0];
+                updatesSent++;
+            }
+            return;
+        }
+        if (sidebar == null) {
+            sidebar = new Sidebar(Component.text(sidebarTitle));
+            sentSidebarTitle = sidebarTitle;
+            sidebar.addViewer(player);
+            updatesSent++;
+        } else if (!sidebarTitle.equals(sentSidebarTitle)) {
+            sidebar.setTitle(Component.text(sidebarTitle));
+            sentSidebarTitle = sidebarTitle;
+            updatesSent++;
+        }
+        // Scores order the lines: the top line has the highest score
+        int count = sidebarLines.length;
+        for (int i = 0; i < count; i++) {
+            String id = "line" + i;
+            String line = sidebarLines[i] != null ? sidebarLines[i] : "";
+            if (i >= sentSidebarLines.length) {
+                sidebar.createLine(new Sidebar.ScoreboardLine(id, Component.text(line), count - i));
+                updatesSent++;
+                continue;
+            }
+            if (!line.equals(sentSidebarLines[i])) {
+                sidebar.updateLineContent(id, Component.text(line));
+                updatesSent++;
+            }
+            if (count != sentSidebarLines.length) {
+                sidebar.updateLineScore(id, count - i);
+                updatesSent++;
+            }
+        }
+        for (int i = count; i < sentSidebarLines.length; i++) {
+            sidebar.removeLine("line" + i);
+            updatesSent++;
+        }
+        sentSidebarLines = Arrays.copyOf(sidebarLines, count);
+        for (int i = 0; i < count; i++) {
+            if (sentSidebarLines[i] == null) sentSidebarLines[i] = "";
+        }
+    }
+
+    private void flushBossBar() {
+        if (!bossBarVisible) {
+            if (bossBar != null) {
+                player.hideBossBar(bossBar);
+                bossBar = null;
+                updatesSent++;
+            }
+            return;
+        }
+        if (bossBar == null) {
+            bossBar = BossBar.bossBar(Component.text(bossBarText), bossBarProgress, bossBarColor, bossBarOverlay);
+            sentBossBarText = bossBarText;
+            player.showBossBar(bossBar);
+            updatesSent++;
+            return;
+        }
+        // Each changed field is one update packet; unchanged fields are not touched
+        if (!bossBarText.equals(sentBossBarText)) {
+            bossBar.name(Component.text(bossBarText));
+            sentBossBarText = bossBarText;
+            updatesSent++;
+        }
+        if (bossBar.progress() != bossBarProgress) {
+            bossBar.progress(bossBarProgress);
+            updatesSent++;
+        }
+        if (bossBar.color() != bossBarColor) {
+            bossBar.color(bossBarColor);
+            updatesSent++;
+        }
+        if (bossBar.overlay() != bossBarOverlay) {
+            bossBar.overlay(bossBarOverlay);
+            updatesSent++;
+        }
+    }
+
+    /**
+     * Removes everything this UI shows, for a pack that is being unloaded.
+     */
+    public synchronized void reset() {
+        if (sidebar != null) {
+            sidebar.removeViewer(player);
+            sidebar = null;
+        }
+        if (bossBar != null) {
+            player.hideBossBar(bossBar);
+            bossBar = null;
+        }
+        if (sentTabHeader != null) {
+            player.sendPlayerListHeaderAndFooter(Component.empty(), Component.empty());
+            sentTabHeader = null;
+            sentTabFooter = null;
+        }
+        sentSidebarLines = new String[0];
+        sidebarLines = null;
+        bossBarVisible = false;
+        tabHeader = null;
+        dirty = false;
+    }
+}
@@ -0,0 +1,150 @@
+package ca.atlasengine.scripting;
+
+import net.kyori.adventure.bossbar.BossBar;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Player;
+import net.minestom.server.timer.ExecutionType;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the {@link PlayerUi} of every player a script drew on, and flushes their changes at the end of
+ * each tick, so any number of updates within a tick cost at most one diff per player.
+ */
+public class PlayerUiManager {
+
+    private final Map<UUID, PlayerUi> uis = new ConcurrentHashMap<>();
+    private final Map<UUID, ProxyObject> proxies = new ConcurrentHashMap<>();
+    private volatile Task flushTask;
+
+    public PlayerUi get(Player player) {
+        if (flushTask == null) {
+            start();
+        }
+        return uis.computeIfAbsent(player.getUuid(), uuid -> new PlayerUi(player));
+    }
+
+    /**
+     * Returns the script-facing {@code player.ui} object, created once per player.
+     */
+    public ProxyObject proxy(Player player) {
+        return proxies.computeIfAbsent(player.getUuid(), uuid -> createProxy(player));
+    }
+
+    public long getUpdatesSent() {
+        long total = 0;
+        for (PlayerUi ui : uis.values()) {
+            total += ui.getUpdatesSent();
+        }
+        return total;
+    }
+
+    private ProxyObject createProxy(Player player) {
+        Map<String, Object> ui = new HashMap<>();
+        ui.put("sidebar", (ProxyExecutable) (Value... args) -> {
+            Value sidebar = args.length > 0 ? args[0] : null;
+            if (sidebar == null || sidebar.isNull()) {
+                get(player).setSidebar(null, null);
+                return null;
+            }
+            Value lines = sidebar.getMember("lines");
+            if (lines == null || !lines.hasArrayElements()) {
+                System.err.println("PlayerUiManager: Invalid arguments for ui.sidebar. Expected ({title?: string, lines: string[]} | null).");
+                return null;
+            }
+            String[] values = new String[(int) Math.min(lines.getArraySize(), 15)]; // The client shows at most 15 lines
+            for (int i = 0; i < values.length; i++) {
+                Value line = lines.getArrayElement(i);
+                values[i] = line.isString() ? line.asString() : line.toString();
+            }
+            get(player).setSidebar(stringMember(sidebar, "title", ""), values);
+            return null;
+        });
+        ui.put("bossbar", (ProxyExecutable) (Value... args) -> {
+            Value bossBar = args.length > 0 ? args[0] : null;
+            if (bossBar == null || bossBar.isNull()) {
+                get(player).setBossBar(false, null, 0, null, null);
+                return null;
+            }
+            float progress = bossBar.hasMember("progress") && bossBar.getMember("progress").isNumber()
+                    ? bossBar.getMember("progress").asFloat() : 1f;
+            BossBar.Color color = BossBar.Color.NAMES.value(stringMember(bossBar, "color", "white").toLowerCase(Locale.ROOT));
+            BossBar.Overlay overlay = BossBar.Overlay.NAMES.value(stringMember(bossBar, "overlay", "progress").toLowerCase(Locale.ROOT));
+            get(player).setBossBar(true, stringMember(bossBar, "text", ""), progress,
+                    color != null ? color : BossBar.Color.WHITE, overlay != null ? overlay : BossBar.Overlay.PROGRESS);
+            return null;
+        });
+        ui.put("tab", (ProxyExecutable) (Value... args) -> {
+            Value tab = args.length > 0 ? args[0] : null;
+            if (tab == null || tab.isNull()) {
+                get(player).setTab("", "");
+            } else {
+                get(player).setTab(stringMember(tab, "header", ""), stringMember(tab, "footer", ""));
+            }
+            return null;
+        });
+        ui.put("clear", (ProxyExecutable) (Value... args) -> {
+            get(player).clear();
+            return null;
+        });
+        return ProxyObject.fromMap(ui);
+    }
+
+    private static String stringMember(Value value, String key, String fallback) {
+        Value member = value.hasMember(key) ? value.getMember(key) : null;
+        if (member == null || member.isNull()) {
+            return fallback;
+        }
+        return member.isString() ? member.asString() : member.toString();
+    }
+
+    private synchronized void start() {
+        if (flushTask == null) {
+            flushTask = MinecraftServer.getSchedulerManager().buildTask(this::flush)
+                    .executionType(ExecutionType.TICK_END)
+                    .repeat(TaskSchedule.nextTick())
+                    .schedule();
+        }
+    }
+
+    private void flush() {
+        for (PlayerUi ui : uis.values()) {
+            if (!ui.getPlayer().isOnline()) {
+                uis.remove(ui.getPlayer().getUuid());
+                continue;
+            }
+            ui.flush();
+        }
+    }
+
+    public void removePlayer(Player player) {
+        uis.remove(player.getUuid());
+        proxies.remove(player.getUuid());
+    }
+
+    /**
+     * Takes down every UI and stops flushing.
+     */
+    public synchronized void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        for (PlayerUi ui : uis.values()) {
+            if (ui.getPlayer().isOnline()) {
+                ui.reset();
+            }
+        }
+        uis.clear();
+        proxies.clear();
+    }
+}
@@ -0,0 +1,203 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Script-defined regions and the players inside them.
+ * <p>
+ * Regions are indexed per instance in a grid of 16x16 block columns, so a movement only tests the few
+ * regions overlapping the player's column. Regions spanning more than {@link #MAX_INDEXED_CELLS} columns are
+ * not indexed (that would cost one list per column) and are tested linearly instead. Each player's current region set is remembered, and only
+ * differences are reported, so scripts run on transitions instead of on every move.
+ */
+public class RegionManager {
+
+    private static final int CELL_SHIFT = 4;
+    private static final long MAX_INDEXED_CELLS = 4096; // 1024x1024 blocks
+
+    /**
+     * @param box {@code [minX, minY, minZ, maxX, maxY, maxZ]}, inclusive.
+     */
+    public record Region(String id, UUID instanceId, double[] box) {
+        boolean contains(Point point) {
+            return point.x() >= box[0] && point.y() >= box[1] && point.z() >= box[2]
+                    && point.x() <= box[3] && point.y() <= box[4] && point.z() <= box[5];
+        }
+    }
+
+    /**
+     * Receives membership changes.
+     */
+    public interface TransitionListener {
+        void onTransition(Player player, String regionId, boolean entered);
+    }
+
+    private final TransitionListener listener;
+    private final Map<String, Region> regionsById = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<Long, List<Region>>> cellsByInstance = new ConcurrentHashMap<>();
+    private final Map<UUID, List<Region>> largeRegionsByInstance = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> playerRegions = new ConcurrentHashMap<>();
+
+    public RegionManager(TransitionListener listener) {
+        this.listener = listener;
+    }
+
+    public synchronized void define(String id, UUID instanceId, double[] box) {
+        remove(id);
+        Region region = new Region(id, instanceId, box);
+        regionsById.put(id, region);
+        if (cellCount(box) > MAX_INDEXED_CELLS) {
+            largeRegionsByInstance.merge(instanceId, List.of(region), (regions, added) -> {
+                List<Region> updated = new ArrayList<>(regions);
+                updated.addAll(added);
+                return List.copyOf(updated);
+            });
+            return;
+        }
+        Map<Long, List<Region>> cells = cellsByInstance.computeIfAbsent(instanceId, k -> new ConcurrentHashMap<>());
+        forEachCell(box, cellKey -> cells.compute(cellKey, (key, regions) -> {
+            List<Region> updated = regions != null ? new ArrayList<>(regions) : new ArrayList<>();
+            updated.add(region);
+            return List.copyOf(updated);
+        }));
+    }
+
+    public synchronized boolean remove(String id) {
+        Region region = regionsById.remove(id);
+        if (region == null) {
+            return false;
+        }
+        if (cellCount(region.box()) > MAX_INDEXED_CELLS) {
+            largeRegionsByInstance.computeIfPresent(region.instanceId(), (key, regions) -> {
+                List<Region> updated = new ArrayList<>(regions);
+                updated.remove(region);
+                return updated.isEmpty() ? null : List.copyOf(updated);
+            });
+            return true;
+        }
+        Map<Long, List<Region>> cells = cellsByInstance.get(region.instanceId());
+        if (cells != null) {
+            forEachCell(region.box(), cellKey -> cells.computeIfPresent(cellKey, (key, regions) -> {
+                List<Region> updated = new ArrayList<>(regions);
+                updated.remove(region);
+                return updated.isEmpty() ? null : List.copyOf(updated);
+            }));
+            if (cells.isEmpty()) {
+                cellsByInstance.remove(region.instanceId());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every region but keeps each player's membership, so regions redefined by a reloaded
+     * script do not fire enter events for players already inside them.
+     */
+    public synchronized void clearRegions() {
+        regionsById.clear();
+        cellsByInstance.clear();
+        largeRegionsByInstance.clear();
+    }
+
+    public synchronized void removeInstance(UUID instanceId) {
+        regionsById.values().removeIf(region -> region.instanceId().equals(instanceId));
+        cellsByInstance.remove(instanceId);
+        largeRegionsByInstance.remove(instanceId);
+    }
+
+    public Collection<Region> getRegions() {
+        return regionsById.values();
+    }
+
+    public Set<String> getRegionsOf(Player player) {
+        return playerRegions.getOrDefault(player.getUuid(), Set.of());
+    }
+
+    /**
+     * Recomputes the player's regions for a new position and reports enter/leave transitions.
+     */
+    public void update(Player player, Point position) {
+        Set<String> previous = playerRegions.getOrDefault(player.getUuid(), Set.of());
+        Instance instance = player.getInstance();
+        Map<Long, List<Region>> cells = instance != null ? cellsByInstance.get(instance.getUuid()) : null;
+        List<Region> largeRegions = instance != null ? largeRegionsByInstance.get(instance.getUuid()) : null;
+        if (cells == null && largeRegions == null && previous.isEmpty()) {
+            return; // Fast path: no regions in this instance and none to leave
+        }
+
+        Set<String> current = Set.of();
+        List<Region> candidates = cells != null
+                ? cells.get(cellKey((int) Math.floor(position.x()) >> CELL_SHIFT, (int) Math.floor(position.z()) >> CELL_SHIFT))
+                : null;
+        if (candidates != null) {
+            for (Region region : candidates) {
+                if (region.contains(position)) {
+                    if (current.isEmpty()) current = new HashSet<>();
+                    current.add(region.id());
+                }
+            }
+        }
+        if (largeRegions != null) {
+            for (Region region : largeRegions) {
+                if (region.contains(position)) {
+                    if (current.isEmpty()) current = new HashSet<>();
+                    current.add(region.id());
+                }
+            }
+        }
+        if (current.equals(previous)) {
+            return;
+        }
+
+        if (current.isEmpty()) {
+            playerRegions.remove(player.getUuid());
+        } else {
+            playerRegions.put(player.getUuid(), current);
+        }
+        for (String id : previous) {
+            if (!current.contains(id)) listener.onTransition(player, id, false);
+        }
+        for (String id : current) {
+            if (!previous.contains(id)) listener.onTransition(player, id, true);
+        }
+    }
+
+    public void removePlayer(Player player) {
+        playerRegions.remove(player.getUuid());
+    }
+
+    private static void forEachCell(double[] box, LongConsumer consumer) {
+        int minCellX = (int) Math.floor(box[0]) >> CELL_SHIFT, maxCellX = (int) Math.floor(box[3]) >> CELL_SHIFT;
+        int minCellZ = (int) Math.floor(box[2]) >> CELL_SHIFT, maxCellZ = (int) Math.floor(box[5]) >> CELL_SHIFT;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                consumer.accept(cellKey(cellX, cellZ));
+            }
+        }
+    }
+
+    private static long cellCount(double[] box) {
+        long cellsX = ((long) Math.floor(box[3]) >> CELL_SHIFT) - ((long) Math.floor(box[0]) >> CELL_SHIFT) + 1;
+        long cellsZ = ((long) Math.floor(box[5]) >> CELL_SHIFT) - ((long) Math.floor(box[2]) >> CELL_SHIFT) + 1;
+        if (cellsX > MAX_INDEXED_CELLS || cellsZ > MAX_INDEXED_CELLS) {
+            return Long.MAX_VALUE; // Also keeps the product below from overflowing
+        }
+        return Math.max(0, cellsX) * Math.max(0, cellsZ);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
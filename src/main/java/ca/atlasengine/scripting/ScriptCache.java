@@ -0,0 +1,155 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.MinecraftServer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, thread-safe LRU cache of script values held as host data.
+ * <p>
+ * Entries are evicted least recently used first once the entry count or total weight exceeds its limit,
+ * and expire a fixed number of ticks after they were written (checked lazily, when the entry is read). Caches are owned by the host, not by a
+ * script context, so they are shared between contexts and survive reloads.
+ */
+public class ScriptCache {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(MinecraftServer.TICK_MS);
+
+    private record Entry(Object value, long weight, long expiresAt) {
+    }
+
+    private final String name;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile int maxEntries;
+    private volatile long maxWeight;
+    private volatile long ttlNanos;
+    private long totalWeight;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * @param maxEntries Maximum number of entries, or 0 for no limit.
+     * @param maxWeight  Maximum total weight, or 0 for no limit.
+     * @param ttlTicks   Ticks after which an entry expires, or 0 to never expire.
+     */
+    public ScriptCache(String name, int maxEntries, long maxWeight, long ttlTicks) {
+        this.name = name;
+        configure(maxEntries, maxWeight, ttlTicks);
+    }
+
+    public void configure(int maxEntries, long maxWeight, long ttlTicks) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.maxWeight = Math.max(0, maxWeight);
+        this.ttlNanos = Math.max(0, ttlTicks) * TICK_NANOS;
+        synchronized (this) {
+            evict();
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the value, or null on a miss or if the entry has expired.
+     */
+    public synchronized Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt != 0 && System.nanoTime() - entry.expiresAt > 0) {
+            remove(key);
+            expirations.incrementAndGet();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * @param weight Weight of the entry against the weight limit, at least 1.
+     */
+    public synchronized void put(String key, Object value, long weight) {
+        long ttl = ttlNanos;
+        Entry previous = entries.put(key, new Entry(value, Math.max(1, weight), ttl == 0 ? 0 : System.nanoTime() + ttl));
+        if (previous != null) {
+            totalWeight -= previous.weight;
+        }
+        totalWeight += Math.max(1, weight);
+        evict();
+    }
+
+    public synchronized boolean containsKey(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && (entry.expiresAt == 0 || System.nanoTime() - entry.expiresAt <= 0);
+    }
+
+    public synchronized boolean remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        totalWeight -= entry.weight;
+        return true;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalWeight() {
+        return this.totalWeight;
+    }
+
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    public long getMaxWeight() {
+        return this.maxWeight;
+    }
+
+    public long getTtlTicks() {
+        return this.ttlNanos / TICK_NANOS;
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    public long getExpirations() {
+        return this.expirations.get();
+    }
+
+    // Expired entries are dropped when read; the rest leave least recently used first until both limits hold
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && ((maxEntries > 0 && entries.size() > maxEntries) || (maxWeight > 0 && totalWeight > maxWeight))) {
+            Entry entry = iterator.next().getValue();
+            iterator.remove();
+            totalWeight -= entry.weight;
+            evictions.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventListener;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.entity.EntityDamageEvent;
+import net.minestom.server.event.entity.EntityDeathEvent;
+import net.minestom.server.event.instance.InstanceChunkLoadEvent;
+import net.minestom.server.event.instance.InstanceChunkUnloadEvent;
+import net.minestom.server.event.inventory.InventoryCloseEvent;
+import net.minestom.server.event.inventory.InventoryPreClickEvent;
+import net.minestom.server.event.item.ItemDropEvent;
+import net.minestom.server.event.player.PlayerBlockBreakEvent;
+import net.minestom.server.event.player.PlayerBlockPlaceEvent;
+import net.minestom.server.event.player.PlayerChatEvent;
+import net.minestom.server.event.player.PlayerCommandEvent;
+import net.minestom.server.event.player.PlayerDeathEvent;
+import net.minestom.server.event.player.PlayerRespawnEvent;
+import net.minestom.server.event.player.PlayerUseItemEvent;
+import net.minestom.server.event.server.ServerListPingEvent;
+import net.minestom.server.event.trait.CancellableEvent;
+import net.minestom.server.event.trait.InstanceEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Forwards arbitrary Minestom events to scripts.
+ * <p>
+ * Script event names are mapped to event classes in a registry; a fully qualified event class name
+ * (e.g. {@code "net.minestom.server.event.player.PlayerSwapItemEvent"}) works too. A Java listener is only
+ * added, on a dedicated child node of the global handler, once a script subscribes to the event, and all of
+ * them are removed when scripts reload. Payloads are lazy views built by {@link EventAccessor}.
+ * <p>
+ * Listeners with a {@link ListenerScope} are bound on a node under the instance's own event node (or a
+ * tag-filtered node), so Minestom routes events of other instances away before they reach the bridge.
+ * Each scope has its own listener array under {@link ListenerScope#eventName(String)}.
+ * <p>
+ * Chunk events fire on whichever thread finished loading or generating the chunk, so their dispatch is
+ * moved to the next tick (and can no longer be cancelled). Other events that fire off the tick thread
+ * ({@code Async*} events, server list pings) cannot be bound.
+ */
+public class ScriptEventBridge {
+
+    // Fired off the tick thread; dispatched on the next tick instead
+    private static final Set<Class<? extends Event>> DEFERRED_EVENTS = Set.of(InstanceChunkLoadEvent.class, InstanceChunkUnloadEvent.class);
+
+    private final ScriptingManager scriptingManager;
+    private final Map<String, Class<? extends Event>> eventClasses = new ConcurrentHashMap<>();
+    private final Map<String, EventListener<? extends Event>> boundListeners = new HashMap<>();
+    private final EventNode<Event> node;
+    private final Map<String, ScopeNode> scopeNodes = new HashMap<>();
+    private boolean attached;
+
+    private record ScopeNode(EventNode<InstanceEvent> parent, EventNode<InstanceEvent> node, ListenerScope scope) {
+    }
+
+    public ScriptEventBridge(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+        this.node = EventNode.all("script-bridge-" + scriptingManager.getPackName());
+        register("playerChat", PlayerChatEvent.class);
+        register("playerCommand", PlayerCommandEvent.class);
+        register("playerBlockBreak", PlayerBlockBreakEvent.class);
+        register("playerBlockPlace", PlayerBlockPlaceEvent.class);
+        register("playerUseItem", PlayerUseItemEvent.class);
+        register("playerDeath", PlayerDeathEvent.class);
+        register("playerRespawn", PlayerRespawnEvent.class);
+        register("entityDamage", EntityDamageEvent.class);
+        register("entityDeath", EntityDeathEvent.class);
+        register("inventoryPreClick", InventoryPreClickEvent.class);
+        register("inventoryClose", InventoryCloseEvent.class);
+        register("itemDrop", ItemDropEvent.class);
+        register("chunkLoad", InstanceChunkLoadEvent.class);
+        register("chunkUnload", InstanceChunkUnloadEvent.class);
+    }
+
+    public void register(String scriptEventName, Class<? extends Event> eventClass) {
+        eventClasses.put(scriptEventName, eventClass);
+    }
+
+    /**
+     * Returns the event class for a script event name, or null if the name is not a bridged event.
+     */
+    public Class<? extends Event> resolve(String scriptEventName) {
+        Class<? extends Event> eventClass = eventClasses.get(scriptEventName);
+        if (eventClass != null || scriptEventName.indexOf('.') < 0) {
+            return eventClass;
+        }
+        try {
+            Class<?> type = Class.forName(scriptEventName, false, Event.class.getClassLoader());
+            if (type.getSimpleName().startsWith("Async") || ServerListPingEvent.class.isAssignableFrom(type)) {
+                System.err.println("ScriptEventBridge: '" + scriptEventName + "' fires off the tick thread and cannot be bound by scripts.");
+                return null;
+            }
+            if (Event.class.isAssignableFrom(type)) {
+                eventClass = type.asSubclass(Event.class);
+                eventClasses.put(scriptEventName, eventClass);
+                return eventClass;
+            }
+            System.err.println("ScriptEventBridge: '" + scriptEventName + "' is not a Minestom event.");
+        } catch (ClassNotFoundException e) {
+            System.err.println("ScriptEventBridge: Unknown event class '" + scriptEventName + "'.");
+        }
+        return null;
+    }
+
+    /**
+     * Adds the Java listener for a script event if it is bridged and not bound yet.
+     */
+    public synchronized void bind(String scriptEventName) {
+        if (boundListeners.containsKey(scriptEventName)) {
+            return;
+        }
+        Class<? extends Event> eventClass = resolve(scriptEventName);
+        if (eventClass == null) {
+            return;
+        }
+        EventListener<? extends Event> listener = createListener(scriptEventName, scriptEventName, eventClass);
+        node.addListener(listener);
+        boundListeners.put(scriptEventName, listener);
+        attach();
+    }
+
+    /**
+     * Binds a scoped listener for a bridged instance event.
+     *
+     * @return false if the event is not bridged, is not an instance event, or the scoped instance does not
+     * exist; the caller then falls back to an unscoped listener with a host-side filter.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized boolean bindScoped(String scriptEventName, ListenerScope scope) {
+        String scopedName = scope.eventName(scriptEventName);
+        if (boundListeners.containsKey(scopedName)) {
+            return true;
+        }
+        Class<? extends Event> eventClass = resolve(scriptEventName);
+        if (eventClass == null || !InstanceEvent.class.isAssignableFrom(eventClass)) {
+            return false;
+        }
+        ScopeNode scopeNode = scopeNodes.get(scope.key());
+        if (scopeNode == null) {
+            scopeNode = createScopeNode(scope);
+            if (scopeNode == null) {
+                return false;
+            }
+            scopeNode.parent().addChild(scopeNode.node());
+            scopeNodes.put(scope.key(), scopeNode);
+        }
+        EventListener<? extends InstanceEvent> listener =
+                createListener(scriptEventName, scopedName, (Class<? extends InstanceEvent>) eventClass);
+        scopeNode.node().addListener(listener);
+        boundListeners.put(scopedName, listener);
+        return true;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ScopeNode createScopeNode(ListenerScope scope) {
+        if (scope.instanceId() != null) {
+            Instance instance = MinecraftServer.getInstanceManager().getInstance(scope.instanceId());
+            if (instance == null) {
+                System.err.println("ScriptEventBridge: Unknown instance " + scope.instanceId() + " for scoped listener.");
+                return null;
+            }
+            return new ScopeNode(instance.eventNode(),
+                    EventNode.type("script-" + scope.key(), net.minestom.server.event.EventFilter.INSTANCE), scope);
+        }
+        attach();
+        EventNode<InstanceEvent> tagNode = EventNode.tag("script-" + scope.key(), net.minestom.server.event.EventFilter.INSTANCE,
+                Tag.String(scope.tagName()), scope.tagValue()::equals);
+        return new ScopeNode((EventNode) node, tagNode, scope);
+    }
+
+    private void attach() {
+        if (!attached) {
+            MinecraftServer.getGlobalEventHandler().addChild(node);
+            attached = true;
+        }
+    }
+
+    private <E extends Event> EventListener<E> createListener(String scriptEventName, String dispatchName, Class<E> eventClass) {
+        EventAccessor accessor = EventAccessor.of(eventClass);
+        int eventId = scriptingManager.getListenerRegistry().idOf(dispatchName);
+        if (DEFERRED_EVENTS.contains(eventClass)) {
+            return EventListener.of(eventClass, event -> MinecraftServer.getSchedulerManager().scheduleNextTick(() -> {
+                // A scoped id may have been released (and reused) since the event fired
+                if (scriptingManager.getListenerRegistry().isAssigned(dispatchName, eventId)) {
+                    scriptingManager.dispatchJsEvent(eventId, scriptEventName,
+                            accessor.player(event), accessor.position(event), accessor.block(event), accessor.hand(event),
+                            null, () -> new Object[]{accessor.view(event, scriptingManager)});
+                }
+            }));
+        }
+        return EventListener.of(eventClass, event -> scriptingManager.dispatchJsEvent(eventId, scriptEventName,
+                accessor.player(event), accessor.position(event), accessor.block(event), accessor.hand(event),
+                event instanceof CancellableEvent cancellable ? cancellable : null,
+                () -> new Object[]{accessor.view(event, scriptingManager)}));
+    }
+
+    /**
+     * Removes every bound listener and detaches the bridge node, for a pack that is being unloaded.
+     */
+    public synchronized void close() {
+        unbindAll();
+        if (attached) {
+            MinecraftServer.getGlobalEventHandler().removeChild(node);
+            attached = false;
+        }
+    }
+
+    /**
+     * Removes every bound listener; the next subscriptions bind again.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public synchronized void unbindAll() {
+        for (EventListener listener : boundListeners.values()) {
+            node.removeListener(listener);
+        }
+        boundListeners.clear();
+        for (ScopeNode scopeNode : scopeNodes.values()) {
+            scopeNode.parent().removeChild(scopeNode.node());
+        }
+        scopeNodes.clear();
+    }
+
+    /**
+     * Drops the scoped bindings and listeners of an instance that is being unregistered.
+     */
+    public synchronized void unbindInstance(UUID instanceId) {
+        String key = ListenerScope.ofInstance(instanceId).key();
+        ScopeNode scopeNode = scopeNodes.remove(key);
+        if (scopeNode != null) {
+            scopeNode.parent().removeChild(scopeNode.node());
+        }
+        String suffix = "@" + key;
+        boundListeners.keySet().removeIf(name -> name.endsWith(suffix));
+        // The ids outlive reloads, so they are released here even if the scope node is already gone
+        scriptingManager.getListenerRegistry().release(name -> name.endsWith(suffix));
+    }
+}
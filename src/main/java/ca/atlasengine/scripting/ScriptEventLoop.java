@@ -0,0 +1,115 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.timer.ExecutionType;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tick-end phase of a script context. Timer callbacks, promise settlements and worker messages are
+ * queued here from any thread and run once per tick, at the end of the tick, inside a single call into
+ * the context: GraalVM drains the promise job queue when the outermost call returns, so all continuations
+ * of the tick run together instead of after every host callback.
+ * <p>
+ * A drain is bounded by a task count and a time budget; what is left runs on the next tick.
+ * <p>
+ * The pack's statement limit applies per task, not per drain: the limit is reset before each task, and the
+ * drain loop awaits between tasks so the continuations a task settles run (and are counted) with it.
+ */
+public class ScriptEventLoop {
+
+    private static final int MAX_TASKS_PER_TICK = 1024;
+    private static final long DRAIN_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final ScriptInstance owner;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private volatile Task drainTask;
+    private Value drainFunction;
+    private int drainedThisTick;
+    private long drainDeadline;
+
+    // Runs one queued task per call from the JS drain loop; returns false once the queue or the budget is exhausted
+    private final ProxyExecutable runNext = (Value... args) -> {
+        if (drainedThisTick >= MAX_TASKS_PER_TICK || (drainedThisTick > 0 && System.nanoTime() > drainDeadline)) {
+            return false;
+        }
+        Runnable task = pending.poll();
+        if (task == null) {
+            return false;
+        }
+        drainedThisTick++;
+        owner.resetStatementLimit();
+        try {
+            task.run();
+        } catch (Exception e) {
+            System.err.println("ScriptEventLoop: Error in queued script task: " + e.getMessage());
+        }
+        return true;
+    };
+
+    ScriptEventLoop(ScriptInstance owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Queues a task that enters the owning context. Safe to call from any thread.
+     */
+    public void post(Runnable task) {
+        if (owner.isClosed()) return;
+        pending.add(task);
+        if (drainTask == null) {
+            start();
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private synchronized void start() {
+        if (drainTask == null && !owner.isClosed()) {
+            drainTask = MinecraftServer.getSchedulerManager().buildTask(this::drain)
+                    .executionType(ExecutionType.TICK_END)
+                    .repeat(TaskSchedule.nextTick())
+                    .schedule();
+        }
+    }
+
+    private void drain() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (owner.isClosed()) {
+            close();
+            return;
+        }
+        drainedThisTick = 0;
+        drainDeadline = System.nanoTime() + DRAIN_BUDGET_NANOS;
+        owner.beginEntry();
+        try {
+            if (drainFunction == null) {
+                drainFunction = owner.getGraalvmContext().eval("js", "async (runNext) => { while (runNext()) { await null; } }");
+            }
+            drainFunction.execute(runNext);
+        } catch (Exception e) {
+            System.err.println("ScriptEventLoop: Error draining script tasks: " + e.getMessage());
+            owner.checkCancelled(e);
+        } finally {
+            owner.endEntry();
+        }
+    }
+
+    public synchronized void close() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        pending.clear();
+    }
+}
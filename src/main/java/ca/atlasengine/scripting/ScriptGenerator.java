@@ -0,0 +1,272 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.generator.GenerationUnit;
+import net.minestom.server.instance.generator.Generator;
+import net.minestom.server.instance.generator.UnitModifier;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A chunk generator written in JavaScript.
+ * <p>
+ * Minestom generates chunks on several threads at once, and a context can only be entered by one thread at
+ * a time, so every generating thread gets its own context (all sharing the script engine, and with it the
+ * parsed module). The module registers its function with {@code generator.onGenerate(fn)}.
+ * <p>
+ * Units are filled in bulk: the function writes block state ids into {@code unit.blocks}, an Int32Array
+ * backed by a per-thread host buffer, laid out as {@code ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX)}.
+ * 0 (air) leaves the block untouched. Uniform sections are applied with a single fill.
+ * <p>
+ * Each unit is one entry under the pack's time quota (or {@link #DEFAULT_UNIT_TIME_MS} when the pack sets
+ * none), so a runaway module cannot hold a generation thread. The pack's statement limit is not applied:
+ * filling a unit block by block legitimately runs hundreds of thousands of statements.
+ */
+public class ScriptGenerator implements Generator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptGenerator.class);
+    private static final long DEFAULT_UNIT_TIME_MS = 5000;
+
+    private final String name;
+    private final Path scriptPath;
+    private final GraalVmFileSystemAdapter fileSystemAdapter;
+    private final PackLimits limits;
+    private final ThreadLocal<GeneratorContext> contexts = new ThreadLocal<>();
+    private final List<GeneratorContext> allContexts = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    private final class GeneratorContext {
+        ScriptInstance scriptInstance;
+        Value generateFunction;
+        ByteBuffer buffer;
+        IntBuffer blocks;
+        Value blocksView;
+        int[] zeros;
+    }
+
+    /**
+     * @param packLimits Quotas of the pack that registered the generator.
+     */
+    public ScriptGenerator(String name, Path scriptPath, GraalVmFileSystemAdapter fileSystemAdapter, PackLimits packLimits) {
+        this.name = name;
+        this.scriptPath = scriptPath;
+        this.fileSystemAdapter = fileSystemAdapter;
+        this.limits = new PackLimits(packLimits.entry(), 0,
+                packLimits.maxCpuTimeMs() > 0 ? packLimits.maxCpuTimeMs() : DEFAULT_UNIT_TIME_MS,
+                packLimits.maxHeapMb(), packLimits.sandboxOptions());
+    }
+
+    @Override
+    public void generate(GenerationUnit unit) {
+        if (closed) return;
+        GeneratorContext context = contexts.get();
+        if (context == null) {
+            context = createContext();
+            contexts.set(context);
+        }
+        if (context.generateFunction == null) {
+            return;
+        }
+        if (context.scriptInstance.isClosed()) {
+            LOGGER.error("ScriptGenerator '{}': Context was cancelled (unit over its time quota); this thread stops generating.", name);
+            context.generateFunction = null;
+            return;
+        }
+
+        Point start = unit.absoluteStart();
+        Point size = unit.size();
+        int sizeX = size.blockX(), sizeY = size.blockY(), sizeZ = size.blockZ();
+        int volume = sizeX * sizeY * sizeZ;
+        prepareBuffer(context, volume);
+
+        Map<String, Object> unitData = new HashMap<>();
+        unitData.put("minX", start.blockX());
+        unitData.put("minY", start.blockY());
+        unitData.put("minZ", start.blockZ());
+        unitData.put("sizeX", sizeX);
+        unitData.put("sizeY", sizeY);
+        unitData.put("sizeZ", sizeZ);
+        unitData.put("blocks", context.blocksView);
+        unitData.put("fillHeight", (ProxyExecutable) (Value... args) -> {
+            Block block = args.length == 3 ? Block.fromKey(args[2].asString()) : null;
+            if (block != null) {
+                unit.modifier().fillHeight(args[0].asInt(), args[1].asInt(), block);
+            } else {
+                LOGGER.error("ScriptGenerator '{}': unit.fillHeight expects (minY, maxY, blockId).", name);
+            }
+            return null;
+        });
+        try {
+            context.scriptInstance.beginEntry();
+            try {
+                context.generateFunction.execute(ProxyObject.fromMap(unitData));
+            } finally {
+                context.scriptInstance.endEntry();
+            }
+            apply(unit.modifier(), context.blocks, start.blockX(), start.blockY(), start.blockZ(), sizeX, sizeY, sizeZ);
+        } catch (Exception e) {
+            LOGGER.error("ScriptGenerator '{}': Error generating unit at {}: {}", name, start, e.getMessage());
+        }
+        logOutput(context);
+    }
+
+    private GeneratorContext createContext() {
+        GeneratorContext context = new GeneratorContext();
+        Map<String, Object> scope = new HashMap<>();
+        scope.put("name", name);
+        scope.put("onGenerate", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0 && args[0].canExecute()) {
+                context.generateFunction = args[0];
+            } else {
+                LOGGER.error("ScriptGenerator '{}': generator.onGenerate expects a function.", name);
+            }
+            return null;
+        });
+        scope.put("stateId", (ProxyExecutable) (Value... args) -> {
+            Block block = args.length > 0 && args[0].isString() ? parseState(args[0].asString()) : null;
+            if (block == null) {
+                LOGGER.error("ScriptGenerator '{}': Unknown block state '{}'.", name, args.length > 0 ? args[0] : null);
+                return 0;
+            }
+            return block.stateId();
+        });
+        context.scriptInstance = new ScriptInstance("generator", ProxyObject.fromMap(scope), fileSystemAdapter, limits);
+        allContexts.add(context);
+        if (closed) {
+            // close() may have run between the check in generate() and the add above
+            allContexts.remove(context);
+            context.scriptInstance.close();
+            return context;
+        }
+        try {
+            context.scriptInstance.evalModule(scriptPath);
+        } catch (Exception e) {
+            LOGGER.error("ScriptGenerator '{}': Error loading {}: {}", name, scriptPath, e.getMessage());
+        }
+        if (context.generateFunction == null) {
+            LOGGER.error("ScriptGenerator '{}': {} did not call generator.onGenerate.", name, scriptPath);
+        }
+        return context;
+    }
+
+    /**
+     * Parses {@code "minecraft:oak_log[axis=y]"} style block states.
+     */
+    private static Block parseState(String state) {
+        int open = state.indexOf('[');
+        Block block = Block.fromKey(open < 0 ? state : state.substring(0, open));
+        if (block == null || open < 0 || !state.endsWith("]")) {
+            return block;
+        }
+        Map<String, String> properties = new HashMap<>();
+        for (String property : state.substring(open + 1, state.length() - 1).split(",")) {
+            int equals = property.indexOf('=');
+            if (equals > 0) {
+                properties.put(property.substring(0, equals).trim(), property.substring(equals + 1).trim());
+            }
+        }
+        try {
+            return block.withProperties(properties);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void prepareBuffer(GeneratorContext context, int volume) {
+        if (context.blocks == null || context.blocks.capacity() != volume) {
+            context.buffer = ByteBuffer.allocateDirect(volume * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            context.blocks = context.buffer.asIntBuffer();
+            context.blocksView = context.scriptInstance.wrapBuffer(context.buffer, "Int32Array");
+            context.zeros = new int[volume];
+        } else {
+            context.blocks.clear();
+            context.blocks.put(context.zeros);
+        }
+    }
+
+    /**
+     * Writes the buffer into the unit. A 16x16x16 section holding one state id is applied with a single fill.
+     */
+    private static void apply(UnitModifier modifier, IntBuffer blocks, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+        for (int sectionY = 0; sectionY < sizeY; sectionY += 16) {
+            for (int sectionZ = 0; sectionZ < sizeZ; sectionZ += 16) {
+                for (int sectionX = 0; sectionX < sizeX; sectionX += 16) {
+                    int toX = Math.min(sectionX + 16, sizeX), toY = Math.min(sectionY + 16, sizeY), toZ = Math.min(sectionZ + 16, sizeZ);
+                    int uniform = blocks.get((sectionY * sizeZ + sectionZ) * sizeX + sectionX);
+                    for (int y = sectionY; y < toY && uniform != -1; y++) {
+                        for (int z = sectionZ; z < toZ && uniform != -1; z++) {
+                            int row = (y * sizeZ + z) * sizeX;
+                            for (int x = sectionX; x < toX; x++) {
+                                if (blocks.get(row + x) != uniform) {
+                                    uniform = -1;
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                    if (uniform == 0) {
+                        continue;
+                    }
+                    if (uniform > 0) {
+                        Block block = Block.fromStateId(uniform);
+                        if (block != null) {
+                            modifier.fill(new Vec(minX + sectionX, minY + sectionY, minZ + sectionZ),
+                                    new Vec(minX + toX, minY + toY, minZ + toZ), block);
+                        }
+                        continue;
+                    }
+                    for (int y = sectionY; y < toY; y++) {
+                        for (int z = sectionZ; z < toZ; z++) {
+                            int row = (y * sizeZ + z) * sizeX;
+                            for (int x = sectionX; x < toX; x++) {
+                                int stateId = blocks.get(row + x);
+                                if (stateId == 0) continue;
+                                Block block = Block.fromStateId(stateId);
+                                if (block != null) {
+                                    modifier.setBlock(minX + x, minY + y, minZ + z, block);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void logOutput(GeneratorContext context) {
+        String stdout = context.scriptInstance.getStdout();
+        String stderr = context.scriptInstance.getStderr();
+        if (!stdout.isEmpty()) {
+            System.out.println("Generator stdout (" + name + "):\n" + stdout);
+        }
+        if (!stderr.isEmpty()) {
+            System.err.println("Generator stderr (" + name + "):\n" + stderr);
+        }
+    }
+
+    /**
+     * Stops generating and closes every per-thread context, including ones still in use.
+     */
+    public void close() {
+        closed = true;
+        for (GeneratorContext context : allContexts) {
+            // Cancels a unit that is still generating on another thread
+            context.scriptInstance.cancel();
+        }
+        allContexts.clear();
+    }
+}
@@ -1,14 +1,22 @@
 package ca.atlasengine.scripting;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.PolyglotAccess;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.ResourceLimits;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.graalvm.polyglot.Source;
 
 public class ScriptInstance {
@@ -18,34 +26,174 @@ public class ScriptInstance {
     private final ByteArrayOutputStream stderrBuffer;
     private static final long MAX_STATEMENT_COUNT = 100000;
 
+    // One engine for every context, so parsed sources and compiled code are shared between them
+    private static final Engine SHARED_ENGINE = Engine.newBuilder("js")
+            .option("engine.WarnInterpreterOnly", "false")
+            .build();
+
+    // Explicit host access, plus interop buffer access so host ByteBuffers can back JS ArrayBuffers without copying.
+    private static final HostAccess HOST_ACCESS = HostAccess.newBuilder(HostAccess.EXPLICIT)
+            .allowBufferAccess(true)
+            .build();
+
+    // Cancels entries that exceed their time quota when the sandbox options are not available
+    private static final Set<ScriptInstance> WATCHED = ConcurrentHashMap.newKeySet();
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "script-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        WATCHDOG.scheduleAtFixedRate(ScriptInstance::checkEntryTimes, 10, 10, TimeUnit.MILLISECONDS);
+    }
+
+    private Value bufferViewFactory;
+    private volatile boolean closed;
+    private final ScriptEventLoop eventLoop = new ScriptEventLoop(this);
+    private final boolean limited;
+    private final long entryTimeLimitNanos;
+    private volatile long entryStartNanos;
+    private int entryDepth;
+
     public ScriptInstance(MinestomBridge bridge, GraalVmFileSystemAdapter fileSystemAdapter) {
+        this("minestom", bridge, fileSystemAdapter, MAX_STATEMENT_COUNT);
+    }
+
+    /**
+     * @param globalName     Name of the global the host object is exposed under.
+     * @param globalObject   Host object (or proxy) exposed to the script.
+     * @param statementLimit Maximum number of statements the context may execute, or 0 for no limit.
+     */
+    public ScriptInstance(String globalName, Object globalObject, GraalVmFileSystemAdapter fileSystemAdapter, long statementLimit) {
+        this(globalName, globalObject, fileSystemAdapter, new PackLimits(PackLimits.DEFAULT.entry(), statementLimit, 0, 0, false));
+    }
+
+    /**
+     * @param limits Quotas of the pack this context belongs to; see {@link PackLimits}.
+     */
+    public ScriptInstance(String globalName, Object globalObject, GraalVmFileSystemAdapter fileSystemAdapter, PackLimits limits) {
         this.stdoutBuffer = new ByteArrayOutputStream();
         this.stderrBuffer = new ByteArrayOutputStream();
 
+        Context builtContext = null;
+        boolean sandboxed = false;
+        if (limits.sandboxOptions() && (limits.maxCpuTimeMs() > 0 || limits.maxHeapMb() > 0)) {
+            try {
+                Context.Builder sandboxBuilder = newContextBuilder(fileSystemAdapter, limits);
+                if (limits.maxCpuTimeMs() > 0) {
+                    sandboxBuilder.option("sandbox.MaxCPUTime", limits.maxCpuTimeMs() + "ms");
+                }
+                if (limits.maxHeapMb() > 0) {
+                    sandboxBuilder.option("sandbox.MaxHeapMemory", limits.maxHeapMb() + "MB");
+                }
+                builtContext = sandboxBuilder.build();
+                sandboxed = true;
+            } catch (IllegalArgumentException e) {
+                System.err.println("ScriptInstance: Sandbox options unavailable in this runtime, using the host watchdog: " + e.getMessage());
+            }
+        }
+        this.context = builtContext != null ? builtContext : newContextBuilder(fileSystemAdapter, limits).build();
+        this.limited = limits.maxStatementsPerEntry() > 0 || sandboxed;
+        this.entryTimeLimitNanos = !sandboxed && limits.maxCpuTimeMs() > 0 ? TimeUnit.MILLISECONDS.toNanos(limits.maxCpuTimeMs()) : 0;
+        if (this.entryTimeLimitNanos > 0) {
+            WATCHED.add(this);
+        }
+
+        // Expose the bridge to JavaScript under the global name "minestom" (or "worker" inside worker contexts)
+        this.context.getBindings("js").putMember(globalName, globalObject);
+    }
+
+    private Context.Builder newContextBuilder(GraalVmFileSystemAdapter fileSystemAdapter, PackLimits limits) {
         Context.Builder contextBuilder = Context.newBuilder("js")
-                .allowHostAccess(HostAccess.EXPLICIT)
+                .engine(SHARED_ENGINE)
+                .allowHostAccess(HOST_ACCESS)
                 .allowPolyglotAccess(PolyglotAccess.NONE)
                 .allowCreateThread(false)
                 .allowNativeAccess(false)
                 .allowEnvironmentAccess(org.graalvm.polyglot.EnvironmentAccess.NONE)
                 .out(this.stdoutBuffer)
                 .err(this.stderrBuffer)
-                .resourceLimits(ResourceLimits.newBuilder()
-                        .statementLimit(MAX_STATEMENT_COUNT, null)
-                        .build())
                 .option("js.ecmascript-version", "2022");
 
+        if (limits.maxStatementsPerEntry() > 0) {
+            // GraalVM cancels the context once the limit is hit; it cannot be entered again afterwards
+            contextBuilder.resourceLimits(ResourceLimits.newBuilder()
+                    .statementLimit(limits.maxStatementsPerEntry(), null)
+                    .onLimit(event -> {
+                        System.err.println("ScriptInstance: Entry exceeded its statement quota, closing the context.");
+                        markCancelled();
+                    })
+                    .build());
+        }
+
         if (fileSystemAdapter != null) {
             contextBuilder.fileSystem(fileSystemAdapter);
             contextBuilder.allowIO(true);
         } else {
             contextBuilder.allowIO(true);
         }
+        return contextBuilder;
+    }
 
-        this.context = contextBuilder.build();
+    /**
+     * Marks the start of a call into the script from the host. Entries may nest; only the outermost counts.
+     */
+    public void beginEntry() {
+        if (entryDepth++ == 0) {
+            entryStartNanos = System.nanoTime();
+        }
+    }
 
-        // Expose the bridge to JavaScript under the global name "minestom"
-        this.context.getBindings("js").putMember("minestom", bridge);
+    /**
+     * Marks the end of a call into the script, resetting the per-entry quotas once the outermost entry ends.
+     */
+    public void endEntry() {
+        if (--entryDepth == 0) {
+            entryStartNanos = 0;
+            if (limited && !closed) {
+                context.resetLimits();
+            }
+        }
+    }
+
+    /**
+     * Resets the statement quota inside an entry, for hosts that run several independent tasks in one entry.
+     */
+    public void resetStatementLimit() {
+        if (limited && !closed) {
+            context.resetLimits();
+        }
+    }
+
+    /**
+     * Marks this instance closed when {@code error} shows that GraalVM cancelled the context or exhausted one of
+     * its limits, so nothing enters the dead context again.
+     */
+    public void checkCancelled(Throwable error) {
+        if (error instanceof PolyglotException polyglotException
+                && (polyglotException.isCancelled() || polyglotException.isResourceExhausted())) {
+            markCancelled();
+        }
+    }
+
+    // The context is already cancelled (or being cancelled) by GraalVM; only the host side needs closing
+    private void markCancelled() {
+        this.closed = true;
+        WATCHED.remove(this);
+        this.eventLoop.close();
+    }
+
+    private static void checkEntryTimes() {
+        long now = System.nanoTime();
+        for (ScriptInstance instance : WATCHED) {
+            long start = instance.entryStartNanos;
+            if (start != 0 && now - start > instance.entryTimeLimitNanos && !instance.closed) {
+                System.err.println("ScriptInstance: Entry exceeded its " + TimeUnit.NANOSECONDS.toMillis(instance.entryTimeLimitNanos)
+                        + "ms quota, closing the context.");
+                instance.cancel();
+            }
+        }
     }
 
     public Context getGraalvmContext() {
@@ -60,6 +208,7 @@ public class ScriptInstance {
             return this.context.eval("js", script);
         } catch (PolyglotException e) {
             System.err.println("Script execution error: " + e.getMessage());
+            checkCancelled(e);
             if (e.isCancelled()) {
                 System.err.println("Script execution was cancelled.");
             }
@@ -74,6 +223,7 @@ public class ScriptInstance {
         if (this.context == null) {
             throw new IllegalStateException("Context is not initialized or has been closed.");
         }
+        beginEntry();
         try {
             Source source = Source.newBuilder("js", scriptPath.toUri().toURL())
                                   .mimeType("application/javascript+module")
@@ -81,13 +231,58 @@ public class ScriptInstance {
             this.context.eval(source);
         } catch (PolyglotException e) {
             System.err.println("Script module execution error (" + scriptPath + "): " + e.getMessage());
+            checkCancelled(e);
             if (e.isCancelled()) {
                 System.err.println("Script execution was cancelled.");
             }
             if (e.isHostException()) {
                 System.err.println("Host exception: " + e.asHostException().toString());
             }
+        } finally {
+            endEntry();
+        }
+    }
+
+    /**
+     * Creates a pending Promise in this context that the host settles later.
+     */
+    public ScriptPromise newPromise() {
+        Value[] settleFunctions = new Value[2];
+        Value promise = this.context.getBindings("js").getMember("Promise").newInstance((ProxyExecutable) (Value... args) -> {
+            settleFunctions[0] = args[0];
+            settleFunctions[1] = args[1];
+            return null;
+        });
+        return new ScriptPromise(this, promise, settleFunctions[0], settleFunctions[1]);
+    }
+
+    /**
+     * Creates an empty plain JavaScript object in this context.
+     */
+    public Value newObject() {
+        return this.context.getBindings("js").getMember("Object").newInstance();
+    }
+
+    /**
+     * Creates an empty JavaScript array in this context.
+     */
+    public Value newArray() {
+        return this.context.getBindings("js").getMember("Array").newInstance();
+    }
+
+    /**
+     * Wraps a host buffer as a JavaScript typed array without copying its contents.
+     * The buffer must be little-endian to match the typed array view.
+     *
+     * @param buffer   The host buffer backing the view.
+     * @param viewType The typed array constructor name (e.g. "Int32Array", "Float64Array"), or "ArrayBuffer".
+     */
+    public Value wrapBuffer(ByteBuffer buffer, String viewType) {
+        if (this.bufferViewFactory == null) {
+            this.bufferViewFactory = this.context.eval("js",
+                    "(buffer, type) => type === 'ArrayBuffer' ? new ArrayBuffer(buffer) : new globalThis[type](new ArrayBuffer(buffer))");
         }
+        return this.bufferViewFactory.execute(buffer, viewType);
     }
 
     public String getStdout() {
@@ -102,7 +297,35 @@ public class ScriptInstance {
         return output;
     }
 
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * The tick-end queue through which asynchronous results re-enter this context.
+     */
+    public ScriptEventLoop getEventLoop() {
+        return this.eventLoop;
+    }
+
+    /**
+     * Closes the context from any thread, cancelling whatever is executing in it.
+     */
+    public void cancel() {
+        this.closed = true;
+        WATCHED.remove(this);
+        this.eventLoop.close();
+        try {
+            this.context.close(true);
+        } catch (Exception e) {
+            System.err.println("ScriptInstance: Error cancelling context: " + e.getMessage());
+        }
+    }
+
     public void close() {
+        this.closed = true;
+        WATCHED.remove(this);
+        this.eventLoop.close();
         if (this.context != null) {
             this.context.close();
         }
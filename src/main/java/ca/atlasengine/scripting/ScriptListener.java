@@ -0,0 +1,13 @@
+package ca.atlasengine.scripting;
+
+import org.graalvm.polyglot.Value;
+
+/**
+ * A script event listener and its optional host-side filter.
+ *
+ * @param callback The JavaScript function to call.
+ * @param filter   Filter evaluated before the payload is built, or null to receive every event.
+ * @param priority Listeners with a higher priority are called first; equal priorities run in registration order.
+ */
+public record ScriptListener(Value callback, EventFilter filter, int priority) {
+}
@@ -0,0 +1,111 @@
+package ca.atlasengine.scripting;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Script listeners stored as copy-on-write arrays indexed by a dense event id.
+ * <p>
+ * Registration is rare and copies one array; dispatch reads a volatile reference and iterates it without
+ * locking or copying. Each array is ordered by descending priority, then by registration order.
+ * <p>
+ * Ids of short-lived event names (listeners scoped to an instance) are released when the scope goes away
+ * and handed out again, so the table does not grow with every instance scripts ever scoped to.
+ */
+public class ScriptListenerRegistry {
+
+    private static final ScriptListener[] NO_LISTENERS = new ScriptListener[0];
+
+    private final Map<String, Integer> eventIds = new ConcurrentHashMap<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private int nextId;
+    private volatile ScriptListener[][] listenersById = new ScriptListener[0][];
+
+    /**
+     * Returns the id of an event name, assigning the next free id the first time a name is seen.
+     */
+    public int idOf(String eventName) {
+        Integer id = eventIds.get(eventName);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            return eventIds.computeIfAbsent(eventName, name -> freeIds.isEmpty() ? nextId++ : freeIds.pop());
+        }
+    }
+
+    /**
+     * Returns whether the id still belongs to the event name, i.e. has not been released and reassigned.
+     */
+    public boolean isAssigned(String eventName, int eventId) {
+        Integer id = eventIds.get(eventName);
+        return id != null && id == eventId;
+    }
+
+    /**
+     * Removes the listeners of every matching event name and frees their ids for reuse.
+     * Callers must no longer dispatch with the released ids.
+     */
+    public synchronized void release(Predicate<String> eventNames) {
+        eventIds.entrySet().removeIf(entry -> {
+            if (!eventNames.test(entry.getKey())) {
+                return false;
+            }
+            remove(entry.getValue());
+            freeIds.push(entry.getValue());
+            return true;
+        });
+    }
+
+    public synchronized void add(int eventId, ScriptListener listener) {
+        ScriptListener[][] table = listenersById;
+        if (eventId >= table.length) {
+            table = Arrays.copyOf(table, Math.max(eventId + 1, table.length * 2));
+        } else {
+            table = table.clone();
+        }
+        ScriptListener[] current = table[eventId] != null ? table[eventId] : NO_LISTENERS;
+        int insertAt = current.length;
+        while (insertAt > 0 && current[insertAt - 1].priority() < listener.priority()) {
+            insertAt--;
+        }
+        ScriptListener[] updated = new ScriptListener[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, insertAt);
+        updated[insertAt] = listener;
+        System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+        table[eventId] = updated;
+        listenersById = table;
+    }
+
+    /**
+     * Returns the listeners of an event in dispatch order. The array must not be modified.
+     */
+    public ScriptListener[] get(int eventId) {
+        ScriptListener[][] table = listenersById;
+        ScriptListener[] listeners = eventId < table.length ? table[eventId] : null;
+        return listeners != null ? listeners : NO_LISTENERS;
+    }
+
+    /**
+     * Removes the listeners of one event.
+     */
+    public synchronized void remove(int eventId) {
+        ScriptListener[][] table = listenersById;
+        if (eventId < table.length && table[eventId] != null) {
+            table = table.clone();
+            table[eventId] = null;
+            listenersById = table;
+        }
+    }
+
+    /**
+     * Removes every listener. Event ids stay assigned, so ids cached by callers remain valid.
+     */
+    public synchronized void clear() {
+        listenersById = new ScriptListener[0][];
+    }
+}
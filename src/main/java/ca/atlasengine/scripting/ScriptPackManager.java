@@ -0,0 +1,119 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.entity.Player;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the script packs that run side by side. Every pack has its own {@link ScriptingManager}, and with it
+ * its own context, file system root, listeners, timers, commands and storage, so packs load and unload
+ * independently.
+ * <p>
+ * The main pack runs from {@code scripts/}. Other packs live in {@code scripts/packs/<name>/} with an optional
+ * {@code pack.properties} holding their entry file and {@link PackLimits quotas}.
+ */
+public class ScriptPackManager {
+
+    public static final String MAIN_PACK = "main";
+    // Throwaway managers behind /js; not a valid pack name, and never given storage
+    public static final String AD_HOC_PACK = "(ad-hoc)";
+    // Pack names become file names (storage logs) and command namespaces
+    private static final Pattern PACK_NAME = Pattern.compile("[a-z0-9_-]{1,32}");
+
+    private final Path packsDir = Paths.get("scripts", "packs");
+    private final Map<String, ScriptingManager> packs = new ConcurrentHashMap<>();
+    private final ScriptingManager mainPack;
+
+    public ScriptPackManager() {
+        this.mainPack = new ScriptingManager();
+        packs.put(MAIN_PACK, mainPack);
+    }
+
+    public ScriptingManager getMainPack() {
+        return this.mainPack;
+    }
+
+    public ScriptingManager getPack(String name) {
+        return packs.get(name);
+    }
+
+    public Collection<ScriptingManager> getPacks() {
+        return packs.values();
+    }
+
+    public void forEach(Consumer<ScriptingManager> action) {
+        for (ScriptingManager pack : packs.values()) {
+            action.accept(pack);
+        }
+    }
+
+    /**
+     * Loads a pack, or reloads its entry file if it is already loaded.
+     *
+     * @return false if the pack does not exist or its properties are invalid.
+     */
+    public synchronized boolean load(String name, Player commandSender) {
+        if (MAIN_PACK.equals(name)) {
+            mainPack.loadAndRunScript(mainPack.getLimits().entry(), commandSender);
+            return true;
+        }
+        if (name == null || !PACK_NAME.matcher(name).matches()) {
+            report(commandSender, "Error: Invalid script pack name '" + name + "'. Use 1-32 characters of a-z, 0-9, _ and -.");
+            return false;
+        }
+        Path packDir = packsDir.resolve(name).normalize();
+        if (!packDir.startsWith(packsDir) || packDir.equals(packsDir) || !Files.isDirectory(packDir)) {
+            report(commandSender, "Error: Script pack not found: " + name);
+            return false;
+        }
+        ScriptingManager pack = packs.get(name);
+        if (pack == null) {
+            PackLimits limits;
+            try {
+                limits = PackLimits.load(packDir.resolve("pack.properties"));
+            } catch (IOException | IllegalArgumentException e) {
+                report(commandSender, "Error: Invalid pack.properties for pack '" + name + "': " + e.getMessage());
+                return false;
+            }
+            pack = new ScriptingManager(name, packDir, limits);
+            packs.put(name, pack);
+        }
+        pack.loadAndRunScript(pack.getLimits().entry(), commandSender);
+        return true;
+    }
+
+    /**
+     * Closes a pack: its listeners, commands, timers and context go away. The main pack cannot be unloaded.
+     */
+    public synchronized boolean unload(String name) {
+        if (MAIN_PACK.equals(name)) {
+            return false;
+        }
+        ScriptingManager pack = packs.remove(name);
+        if (pack == null) {
+            return false;
+        }
+        pack.close();
+        return true;
+    }
+
+    public synchronized void closeAll() {
+        for (ScriptingManager pack : packs.values()) {
+            pack.close();
+        }
+        packs.clear();
+    }
+
+    private static void report(Player commandSender, String message) {
+        if (commandSender != null) commandSender.sendMessage(message);
+        else System.err.println("ScriptPackManager: " + message);
+    }
+}
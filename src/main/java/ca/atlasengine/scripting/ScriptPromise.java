@@ -0,0 +1,58 @@
+package ca.atlasengine.scripting;
+
+import org.graalvm.polyglot.Value;
+
+import java.util.function.Supplier;
+
+/**
+ * A JavaScript Promise created by the host, together with its resolve/reject functions.
+ * Settling must happen on a thread that may enter the owning context; the {@code *Later}
+ * variants queue the settlement on the owner's {@link ScriptEventLoop} so they can be called from any thread.
+ */
+public class ScriptPromise {
+
+    private final ScriptInstance owner;
+    private final Value promise;
+    private final Value resolveFunction;
+    private final Value rejectFunction;
+
+    ScriptPromise(ScriptInstance owner, Value promise, Value resolveFunction, Value rejectFunction) {
+        this.owner = owner;
+        this.promise = promise;
+        this.resolveFunction = resolveFunction;
+        this.rejectFunction = rejectFunction;
+    }
+
+    public Value getPromise() {
+        return this.promise;
+    }
+
+    public void resolve(Object value) {
+        if (owner.isClosed()) return;
+        resolveFunction.execute(value);
+    }
+
+    public void reject(String message) {
+        if (owner.isClosed()) return;
+        Value error = owner.getGraalvmContext().getBindings("js").getMember("Error").newInstance(message);
+        rejectFunction.execute(error);
+    }
+
+    /**
+     * Resolves at the end of the tick. The supplier runs there too, so it may create values in the owning context.
+     */
+    public void resolveLater(Supplier<?> valueSupplier) {
+        owner.getEventLoop().post(() -> {
+            if (owner.isClosed()) return;
+            try {
+                resolve(valueSupplier.get());
+            } catch (Exception e) {
+                reject(e.getMessage());
+            }
+        });
+    }
+
+    public void rejectLater(String message) {
+        owner.getEventLoop().post(() -> reject(message));
+    }
+}
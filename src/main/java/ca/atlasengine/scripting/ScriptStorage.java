@@ -0,0 +1,297 @@
+package ca.atlasengine.scripting;
+
+import ca.atlasengine.scripting.api.StructuredClone;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded key-value store for scripts.
+ * <p>
+ * All reads are served from an in-memory index. Writes update the index immediately and are queued;
+ * the queue is drained every {@link #FLUSH_INTERVAL_TICKS} ticks and appended to a memory-mapped,
+ * append-only log on a dedicated I/O thread, so the tick thread never touches the disk.
+ * When the log holds mostly stale records it is compacted into a fresh file.
+ * <p>
+ * Log record layout: {@code [int length][int crc32][byte op][int keyLength][key][value]}, where
+ * {@code length} covers everything after the crc. The mapped region is grown in zero-filled chunks,
+ * so a zero length marks the end of the log.
+ */
+public class ScriptStorage {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptStorage.class);
+    private static final int FLUSH_INTERVAL_TICKS = 20;
+    private static final long MAP_CHUNK_BYTES = 4L << 20;
+    private static final long COMPACT_MIN_BYTES = 1L << 20;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final Object TOMBSTONE = new Object();
+
+    private final Path logPath;
+    private final Map<String, Object> index = new ConcurrentHashMap<>();
+    private final Map<String, Object> pending = new ConcurrentHashMap<>();
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "script-storage-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only touched on the I/O thread (or before the flush task starts)
+    private final Map<String, Integer> liveRecordSizes = new HashMap<>();
+    private long liveBytes;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long mappedSize;
+    private long writePosition;
+
+    private Task flushTask;
+
+    public ScriptStorage(Path logPath) {
+        this.logPath = logPath;
+    }
+
+    /**
+     * Opens the log, replays it into the index and starts the periodic write-behind task.
+     */
+    public void open() throws IOException {
+        Path parent = logPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        openChannel();
+        replay();
+        LOGGER.info("ScriptStorage: Opened {} with {} keys ({} bytes of log).", logPath, index.size(), writePosition);
+
+        this.flushTask = MinecraftServer.getSchedulerManager().buildTask(this::flush)
+                .delay(TaskSchedule.tick(FLUSH_INTERVAL_TICKS))
+                .repeat(TaskSchedule.tick(FLUSH_INTERVAL_TICKS))
+                .schedule();
+    }
+
+    public Object get(String key) {
+        return index.get(key);
+    }
+
+    public boolean has(String key) {
+        return index.containsKey(key);
+    }
+
+    public Set<String> keys() {
+        return index.keySet();
+    }
+
+    public void put(String key, Object data) {
+        if (data == null) {
+            delete(key);
+            return;
+        }
+        index.put(key, data);
+        pending.put(key, data);
+    }
+
+    public boolean delete(String key) {
+        boolean existed = index.remove(key) != null;
+        pending.put(key, TOMBSTONE);
+        return existed;
+    }
+
+    /**
+     * Hands all queued writes to the I/O thread.
+     *
+     * @return A future completed once the batch is durable on disk.
+     */
+    public CompletableFuture<Void> flush() {
+        Map<String, Object> batch = new HashMap<>();
+        for (String key : pending.keySet()) {
+            Object data = pending.remove(key);
+            if (data != null) {
+                batch.put(key, data);
+            }
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                }
+                if (writePosition > COMPACT_MIN_BYTES && writePosition > liveBytes * 2) {
+                    compact();
+                }
+            } catch (IOException e) {
+                LOGGER.error("ScriptStorage: Failed to write {} entries to {}: {}", batch.size(), logPath, e.getMessage(), e);
+                // Requeue what we could not persist, unless a newer write superseded it meanwhile
+                batch.forEach(pending::putIfAbsent);
+                throw new UncheckedIOException(e);
+            }
+        }, ioExecutor);
+    }
+
+    /**
+     * Stops the write-behind task, writes everything that is still queued and releases the log.
+     */
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        try {
+            flush().join();
+        } catch (Exception e) {
+            LOGGER.error("ScriptStorage: Final flush of {} failed: {}", logPath, e.getMessage());
+        }
+        ioExecutor.submit(() -> {
+            try {
+                mapped = null;
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.error("ScriptStorage: Error closing {}: {}", logPath, e.getMessage());
+            }
+        });
+        ioExecutor.shutdown();
+    }
+
+    private void openChannel() throws IOException {
+        this.channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.mappedSize = Math.max(MAP_CHUNK_BYTES, roundUpToChunk(channel.size()));
+        this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+    }
+
+    private void replay() {
+        CRC32 crc = new CRC32();
+        int position = 0;
+        while (position + RECORD_HEADER_BYTES <= mappedSize) {
+            int length = mapped.getInt(position);
+            int checksum = mapped.getInt(position + 4);
+            if (length <= 0 || position + RECORD_HEADER_BYTES + length > mappedSize) {
+                break;
+            }
+            byte[] body = new byte[length];
+            mapped.get(position + RECORD_HEADER_BYTES, body);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) {
+                LOGGER.warn("ScriptStorage: Corrupt record at offset {} in {}, ignoring the rest of the log.", position, logPath);
+                break;
+            }
+
+            ByteBuffer record = ByteBuffer.wrap(body);
+            byte op = record.get();
+            byte[] keyBytes = new byte[record.getInt()];
+            record.get(keyBytes);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            int recordSize = RECORD_HEADER_BYTES + length;
+            if (op == OP_PUT) {
+                byte[] value = new byte[record.remaining()];
+                record.get(value);
+                index.put(key, StructuredClone.decode(value));
+                trackLive(key, recordSize);
+            } else {
+                index.remove(key);
+                trackLive(key, 0);
+            }
+            position += recordSize;
+        }
+        this.writePosition = position;
+    }
+
+    private void writeBatch(Map<String, Object> batch) throws IOException {
+        CRC32 crc = new CRC32();
+        for (Map.Entry<String, Object> entry : batch.entrySet()) {
+            byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            boolean delete = entry.getValue() == TOMBSTONE;
+            byte[] value = delete ? new byte[0] : StructuredClone.encode(entry.getValue());
+
+            int length = 1 + 4 + keyBytes.length + value.length;
+            ByteBuffer body = ByteBuffer.allocate(length);
+            body.put(delete ? OP_DELETE : OP_PUT).putInt(keyBytes.length).put(keyBytes).put(value);
+            crc.reset();
+            crc.update(body.array());
+
+            ensureCapacity(RECORD_HEADER_BYTES + length);
+            int position = (int) writePosition;
+            mapped.putInt(position + 4, (int) crc.getValue());
+            mapped.put(position + RECORD_HEADER_BYTES, body.array());
+            // Length goes in last, so a record only becomes visible to replay once it is complete
+            mapped.putInt(position, length);
+            writePosition += RECORD_HEADER_BYTES + length;
+            trackLive(entry.getKey(), delete ? 0 : RECORD_HEADER_BYTES + length);
+        }
+        mapped.force();
+    }
+
+    private void compact() throws IOException {
+        Path compactedPath = logPath.resolveSibling(logPath.getFileName() + ".compact");
+        FileChannel previousChannel = channel;
+        MappedByteBuffer previousMapped = mapped;
+        long previousMappedSize = mappedSize;
+        long previousPosition = writePosition;
+        Map<String, Integer> previousSizes = new HashMap<>(liveRecordSizes);
+        long previousLiveBytes = liveBytes;
+
+        // Rewrite the live set into a fresh log, then swap it in atomically
+        try {
+            channel = FileChannel.open(compactedPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mappedSize = MAP_CHUNK_BYTES;
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+            writePosition = 0;
+            liveRecordSizes.clear();
+            liveBytes = 0;
+            writeBatch(new HashMap<>(index));
+            channel.close();
+            Files.move(compactedPath, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            channel.close();
+            Files.deleteIfExists(compactedPath);
+            channel = previousChannel;
+            mapped = previousMapped;
+            mappedSize = previousMappedSize;
+            writePosition = previousPosition;
+            liveRecordSizes.clear();
+            liveRecordSizes.putAll(previousSizes);
+            liveBytes = previousLiveBytes;
+            throw e;
+        }
+        previousChannel.close();
+        openChannel();
+        LOGGER.info("ScriptStorage: Compacted {} from {} to {} bytes.", logPath, previousPosition, writePosition);
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (writePosition + bytes <= mappedSize) {
+            return;
+        }
+        mappedSize = roundUpToChunk(writePosition + bytes);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+    }
+
+    private void trackLive(String key, int recordSize) {
+        Integer previous = recordSize > 0 ? liveRecordSizes.put(key, recordSize) : liveRecordSizes.remove(key);
+        liveBytes += recordSize - (previous != null ? previous : 0);
+    }
+
+    private static long roundUpToChunk(long size) {
+        return ((size + MAP_CHUNK_BYTES - 1) / MAP_CHUNK_BYTES) * MAP_CHUNK_BYTES;
+    }
+}
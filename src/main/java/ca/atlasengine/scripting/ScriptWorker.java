@@ -0,0 +1,216 @@
+package ca.atlasengine.scripting;
+
+import ca.atlasengine.scripting.api.StructuredClone;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A secondary script context that runs CPU-heavy jobs off the server thread.
+ * <p>
+ * Workers share a fixed thread pool. Each worker has a mailbox that is drained by at most one pool
+ * thread at a time, so its context is never entered concurrently. Messages cross between contexts as
+ * {@link StructuredClone} data; binary payloads are exposed to the receiving side without another copy.
+ * <p>
+ * Inside the worker, the script sees a {@code worker} global with {@code onMessage(handler)} and
+ * {@code postMessage(message)}. A handler's return value (or the value its Promise resolves to) is the
+ * reply to the request that invoked it.
+ */
+public class ScriptWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptWorker.class);
+    private static final int MAX_JOBS_PER_DRAIN = 16;
+    // Off the tick thread a job may run long, but never forever: the watchdog cancels the context after this
+    private static final PackLimits WORKER_LIMITS = new PackLimits(PackLimits.DEFAULT.entry(), 0, 30_000, 0, false);
+
+    private final String name;
+    private final ExecutorService executor;
+    private final Consumer<Object> messageToMain;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean terminated;
+
+    // Only written from jobs, which never run concurrently; read by terminate() to cancel a running job
+    private volatile ScriptInstance scriptInstance;
+    private Value messageHandler;
+
+    /**
+     * @param messageToMain Receives data the worker posts with {@code worker.postMessage}, on a pool thread.
+     */
+    public ScriptWorker(String name, ExecutorService executor, Consumer<Object> messageToMain) {
+        this.name = name;
+        this.executor = executor;
+        this.messageToMain = messageToMain;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public boolean isTerminated() {
+        return this.terminated;
+    }
+
+    /**
+     * Creates the worker context and evaluates its module on a pool thread.
+     */
+    public void start(Path scriptPath, GraalVmFileSystemAdapter fileSystemAdapter) {
+        submit(() -> {
+            scriptInstance = new ScriptInstance("worker", createScope(), fileSystemAdapter, WORKER_LIMITS);
+            if (terminated) {
+                scriptInstance.close();
+                return;
+            }
+            try {
+                scriptInstance.evalModule(scriptPath);
+            } catch (Exception e) {
+                LOGGER.error("ScriptWorker '{}': Error loading {}: {}", name, scriptPath, e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Delivers a message to the worker's handler and completes with its reply.
+     */
+    public CompletableFuture<Object> request(Object message) {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        submit(() -> {
+            if (messageHandler == null) {
+                reply.completeExceptionally(new IllegalStateException("Worker '" + name + "' has no message handler."));
+                return;
+            }
+            scriptInstance.beginEntry();
+            try {
+                Value result = messageHandler.execute(StructuredClone.toValue(scriptInstance, message));
+                if (result != null && result.hasMember("then") && result.getMember("then").canExecute()) {
+                    result.invokeMember("then",
+                            (ProxyExecutable) (Value... args) -> reply.complete(StructuredClone.fromValue(args.length > 0 ? args[0] : null)),
+                            (ProxyExecutable) (Value... args) -> reply.completeExceptionally(
+                                    new IllegalStateException(args.length > 0 ? args[0].toString() : "Worker job rejected")));
+                } else {
+                    reply.complete(StructuredClone.fromValue(result));
+                }
+            } catch (Exception e) {
+                reply.completeExceptionally(e);
+            } finally {
+                scriptInstance.endEntry();
+            }
+        });
+        return reply;
+    }
+
+    /**
+     * Delivers a message to the worker's handler without waiting for a reply.
+     */
+    public void post(Object message) {
+        submit(() -> {
+            if (messageHandler != null) {
+                scriptInstance.beginEntry();
+                try {
+                    messageHandler.execute(StructuredClone.toValue(scriptInstance, message));
+                } finally {
+                    scriptInstance.endEntry();
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops queued jobs and closes the context, cancelling a job that is still running so it gives its pool
+     * thread back.
+     */
+    public void terminate() {
+        if (terminated) return;
+        terminated = true;
+        mailbox.clear();
+        ScriptInstance current = scriptInstance;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private ProxyObject createScope() {
+        Map<String, Object> scope = new HashMap<>();
+        scope.put("name", name);
+        scope.put("onMessage", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0 && args[0].canExecute()) {
+                messageHandler = args[0];
+            } else {
+                LOGGER.error("ScriptWorker '{}': worker.onMessage expects a function.", name);
+            }
+            return null;
+        });
+        scope.put("postMessage", (ProxyExecutable) (Value... args) -> {
+            try {
+                messageToMain.accept(StructuredClone.fromValue(args.length > 0 ? args[0] : null));
+                return true;
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("ScriptWorker '{}': Cannot post message: {}", name, e.getMessage());
+                return false;
+            }
+        });
+        return ProxyObject.fromMap(scope);
+    }
+
+    private void submit(Runnable job) {
+        if (terminated) return;
+        mailbox.add(job);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable job;
+            int processed = 0;
+            // Bounded, so one busy worker cannot starve the others sharing the pool
+            while (processed++ < MAX_JOBS_PER_DRAIN && (job = mailbox.poll()) != null) {
+                try {
+                    job.run();
+                } catch (Exception e) {
+                    LOGGER.error("ScriptWorker '{}': Job failed: {}", name, e.getMessage(), e);
+                }
+                if (!terminated && scriptInstance != null && scriptInstance.isClosed()) {
+                    LOGGER.error("ScriptWorker '{}': Context was cancelled after a job ran too long; terminating.", name);
+                    terminated = true;
+                    mailbox.clear();
+                }
+                logOutput();
+            }
+        } finally {
+            draining.set(false);
+            if (!mailbox.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void logOutput() {
+        if (scriptInstance == null || scriptInstance.isClosed()) return;
+        String stdout = scriptInstance.getStdout();
+        String stderr = scriptInstance.getStderr();
+        if (!stdout.isEmpty()) {
+            System.out.println("Worker stdout (" + name + "):\n" + stdout);
+        }
+        if (!stderr.isEmpty()) {
+            System.err.println("Worker stderr (" + name + "):\n" + stderr);
+        }
+    }
+}
@@ -1,42 +1,126 @@
 package ca.atlasengine.scripting;
 
+import ca.atlasengine.scripting.api.Raycast;
+import ca.atlasengine.scripting.api.ReadRegion;
+import ca.atlasengine.scripting.api.StructuredClone;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.command.CommandManager;
 import net.minestom.server.command.builder.Command;
 import net.minestom.server.coordinate.BlockVec;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.GameMode;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.PlayerHand;
+import net.minestom.server.event.trait.CancellableEvent;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.timer.ExecutionType;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
 import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
 import org.graalvm.polyglot.proxy.ProxyObject;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 public class ScriptingManager {
     private ScriptInstance currentScriptInstance;
     private String currentScriptFileName;
     private final MinestomBridge bridge;
-    private final Map<String, List<Value>> jsEventListeners = new HashMap<>();
-    private final Path scriptsDir = Paths.get("scripts");
+    private final ScriptListenerRegistry jsEventListeners = new ScriptListenerRegistry();
+    private final int playerJoinEventId = jsEventListeners.idOf("playerJoin");
+    private final int playerLeaveEventId = jsEventListeners.idOf("playerLeave");
+    private final int playerMoveEventId = jsEventListeners.idOf("playerMove");
+    private final int playerBlockInteractEventId = jsEventListeners.idOf("playerBlockInteract");
+    private final int tickEventId = jsEventListeners.idOf("tick");
+    private final TickSnapshot tickSnapshot = new TickSnapshot(this);
+    private volatile Task tickTask;
+    // The event being dispatched on this thread, read by the shared cancel function so events need no per-event closure
+    private final ThreadLocal<CancellableEvent> dispatchingEvent = new ThreadLocal<>();
+    private final ProxyExecutable cancelFunction = (Value... args) -> {
+        CancellableEvent event = dispatchingEvent.get();
+        if (event != null) {
+            event.setCancelled(true);
+        } else {
+            System.err.println("ScriptingManager: event.cancel() must be called synchronously from the event listener.");
+        }
+        return null;
+    };
+    private final String packName;
+    private final Path scriptsDir;
+    private final PackLimits limits;
     private final Set<String> registeredScriptCommands = new HashSet<>();
+    private final ReadRegion readRegion = new ReadRegion();
+    private final Raycast raycast = new Raycast();
+    private final RegionManager regionManager = new RegionManager(this::fireRegionTransition);
+    private final ScriptEventBridge eventBridge;
+    private final OutboundQueue outboundQueue = new OutboundQueue();
+    private final PlayerColumns playerColumns = new PlayerColumns();
+    private final PlayerUiManager playerUiManager = new PlayerUiManager();
+    private static final int MAX_GROUP_SIZE = 4000; // Stays under the client's limit of packets per bundle
+    private final List<EntityGroup> entityGroups = new CopyOnWriteArrayList<>();
+    private static final int ENTITY_HANDLE_PRUNE_INTERVAL_TICKS = 100;
+    private volatile Task entityHandlePruneTask;
+    private final Map<UUID, EntityHandle> playerHandles = new ConcurrentHashMap<>();
+    private final Map<Integer, EntityHandle> entityHandles = new ConcurrentHashMap<>();
+    private final Map<UUID, ProxyObject> instanceHandles = new ConcurrentHashMap<>();
 
     public ScriptingManager() {
+        this(ScriptPackManager.MAIN_PACK, Paths.get("scripts"), PackLimits.DEFAULT);
+    }
+
+    /**
+     * @param packName   Name of the script pack this manager runs; it namespaces the pack's commands and storage.
+     * @param scriptsDir Root directory of the pack's scripts.
+     * @param limits     Resource quotas applied to the pack's context.
+     */
+    public ScriptingManager(String packName, Path scriptsDir, PackLimits limits) {
+        this.packName = packName;
+        this.scriptsDir = scriptsDir;
+        this.limits = limits;
+        this.eventBridge = new ScriptEventBridge(this);
         this.bridge = new MinestomBridge(this);
     }
 
+    public String getPackName() {
+        return this.packName;
+    }
+
+    public PackLimits getLimits() {
+        return this.limits;
+    }
+
+    /**
+     * Returns the name a script command is registered under: unchanged for the main pack, {@code pack:name} otherwise.
+     */
+    public String qualifyCommandName(String commandName) {
+        return ScriptPackManager.MAIN_PACK.equals(packName) ? commandName : packName + ":" + commandName;
+    }
+
     public ScriptInstance getCurrentScriptInstance() {
         return this.currentScriptInstance;
     }
@@ -45,6 +129,30 @@ public class ScriptingManager {
         return this.currentScriptFileName;
     }
 
+    public Path getScriptsDir() {
+        return this.scriptsDir;
+    }
+
+    public RegionManager getRegionManager() {
+        return this.regionManager;
+    }
+
+    public OutboundQueue getOutboundQueue() {
+        return this.outboundQueue;
+    }
+
+    public PlayerColumns getPlayerColumns() {
+        return this.playerColumns;
+    }
+
+    public PlayerUiManager getPlayerUiManager() {
+        return this.playerUiManager;
+    }
+
+    public ScriptEventBridge getEventBridge() {
+        return this.eventBridge;
+    }
+
     public MinestomBridge getBridge() {
         return this.bridge;
     }
@@ -75,10 +183,17 @@ public class ScriptingManager {
 
         try {
             if (currentScriptInstance != null) {
+                // Give the outgoing script a last chance to hand state over through minestom.state
+                triggerJsEvent("scriptUnload", null);
+                bridge.unloadScript();
                 currentScriptInstance.close();
                 unregisterScriptCommands();
             }
             jsEventListeners.clear();
+            eventBridge.unbindAll();
+            regionManager.clearRegions();
+            removeEntityGroups();
+            playerUiManager.close();
 
             Map<String, String> moduleOverrides = new HashMap<>();
             try {
@@ -97,7 +212,7 @@ public class ScriptingManager {
             // Create the InMemoryFileSystem with overrides
             InMemoryFileSystem inMemoryFs = new InMemoryFileSystem(scriptsDir, moduleOverrides);
 
-            currentScriptInstance = new ScriptInstance(this.bridge, new GraalVmFileSystemAdapter(inMemoryFs,Path.of("./")));
+            currentScriptInstance = new ScriptInstance("minestom", this.bridge, new GraalVmFileSystemAdapter(inMemoryFs,Path.of("./")), limits);
             currentScriptInstance.evalModule(scriptPath);
 
             String initialStdout = currentScriptInstance.getStdout();
@@ -150,61 +265,227 @@ public class ScriptingManager {
     }
 
     public void registerJsEventListener(String eventName, Value jsCallback) {
-        jsEventListeners.computeIfAbsent(eventName, k -> new ArrayList<>()).add(jsCallback);
+        registerJsEventListener(eventName, jsCallback, null, 0);
+    }
+
+    public void registerJsEventListener(String eventName, Value jsCallback, EventFilter filter, int priority) {
+        ListenerScope scope = filter != null ? filter.scope() : null;
+        if (scope != null && eventBridge.bindScoped(eventName, scope)) {
+            // Routed by the instance event tree; only the remaining conditions are tested on dispatch
+            jsEventListeners.add(jsEventListeners.idOf(scope.eventName(eventName)), new ScriptListener(jsCallback, filter.unscoped(), priority));
+            return;
+        }
+        int eventId = jsEventListeners.idOf(eventName);
+        jsEventListeners.add(eventId, new ScriptListener(jsCallback, filter, priority));
+        if (eventId == tickEventId) {
+            startTickEvent();
+        } else {
+            eventBridge.bind(eventName);
+        }
+    }
+
+    /**
+     * Starts firing the {@code tick} event at the end of every server tick. The task stays scheduled once
+     * started and does nothing while no script listens.
+     */
+    private synchronized void startTickEvent() {
+        if (tickTask == null) {
+            tickTask = MinecraftServer.getSchedulerManager().buildTask(this::fireTickEvent)
+                    .executionType(ExecutionType.TICK_END)
+                    .repeat(TaskSchedule.nextTick())
+                    .schedule();
+        }
+    }
+
+    private void fireTickEvent() {
+        ScriptInstance scriptInstance = currentScriptInstance;
+        if (scriptInstance == null || scriptInstance.isClosed() || jsEventListeners.get(tickEventId).length == 0) {
+            return;
+        }
+        dispatchJsEvent(tickEventId, "tick", null, null, null, null, null,
+                () -> new Object[]{tickSnapshot.capture(scriptInstance)});
+    }
+
+    /**
+     * Drops everything scripts hold for an instance that is being unregistered: scoped listeners, regions
+     * and the cached instance handle.
+     */
+    public void onInstanceUnregister(Instance instance) {
+        eventBridge.unbindInstance(instance.getUuid());
+        regionManager.removeInstance(instance.getUuid());
+        instanceHandles.remove(instance.getUuid());
+    }
+
+    public ScriptListenerRegistry getListenerRegistry() {
+        return this.jsEventListeners;
+    }
+
+    /**
+     * Returns the function scripts call as {@code event.cancel()}. It is shared by all events and cancels
+     * whichever cancellable event is being dispatched on the calling thread.
+     */
+    public ProxyExecutable getCancelFunction() {
+        return this.cancelFunction;
+    }
+
+    /**
+     * Returns whether the event being dispatched on the calling thread is cancelled.
+     */
+    public boolean isDispatchingEventCancelled() {
+        CancellableEvent event = dispatchingEvent.get();
+        return event != null && event.isCancelled();
     }
 
     public void firePlayerJoinEvent(Player player) {
+        playerColumns.assign(player);
         Map<String, Object> playerData = createPlayerProxyData(player, true);
-        triggerJsEvent("playerJoin", player, ProxyObject.fromMap(playerData));
+        triggerJsEvent(playerJoinEventId, "playerJoin", player, ProxyObject.fromMap(playerData));
     }
 
     public void firePlayerLeaveEvent(Player player) {
         Map<String, Object> playerData = createPlayerProxyData(player, false);
-        triggerJsEvent("playerLeave", player, ProxyObject.fromMap(playerData));
+        triggerJsEvent(playerLeaveEventId, "playerLeave", player, ProxyObject.fromMap(playerData));
+        playerHandles.remove(player.getUuid());
+        playerColumns.release(player);
+        playerUiManager.removePlayer(player);
+        outboundQueue.removePlayer(player);
+        bridge.playerLeft(player);
     }
 
-    public void firePlayerMoveEvent(Player player, Pos newPosition, boolean isOnGround) {
-        Map<String, Object> eventData = new HashMap<>();
+    public void firePlayerMoveEvent(Player player, Pos newPosition, boolean isOnGround, CancellableEvent event) {
+        dispatchJsEvent(playerMoveEventId, "playerMove", player, newPosition, null, null, event, () -> {
+            Map<String, Object> eventData = new HashMap<>();
 
-        // Add player data to the event
-        eventData.put("player", ProxyObject.fromMap(createPlayerProxyData(player, true)));
+            // Add player data to the event
+            eventData.put("player", ProxyObject.fromMap(createPlayerProxyData(player, true)));
 
-        // New position
-        Map<String, Object> positionData = new HashMap<>();
-        positionData.put("x", newPosition.x());
-        positionData.put("y", newPosition.y());
-        positionData.put("z", newPosition.z());
-        eventData.put("position", ProxyObject.fromMap(positionData));
+            // New position
+            Map<String, Object> positionData = new HashMap<>();
+            positionData.put("x", newPosition.x());
+            positionData.put("y", newPosition.y());
+            positionData.put("z", newPosition.z());
+            eventData.put("position", ProxyObject.fromMap(positionData));
 
-        // Ground state
-        eventData.put("isOnGround", isOnGround);
+            // Ground state
+            eventData.put("isOnGround", isOnGround);
+            eventData.put("cancel", cancelFunction);
 
-        triggerJsEvent("playerMove", player, ProxyObject.fromMap(eventData));
+            return new Object[]{ProxyObject.fromMap(eventData)};
+        });
     }
 
-    public void firePlayerBlockInteractEvent(Player player, BlockVec blockPosition, Block block, PlayerHand hand) {
-        Map<String, Object> eventData = new HashMap<>();
-        
-        // Add player data to the event
-        eventData.put("player", ProxyObject.fromMap(createPlayerProxyData(player, true)));
+    public void firePlayerBlockInteractEvent(Player player, BlockVec blockPosition, Block block, PlayerHand hand, CancellableEvent event) {
+        dispatchJsEvent(playerBlockInteractEventId, "playerBlockInteract", player, blockPosition, block, hand, event, () -> {
+            Map<String, Object> eventData = new HashMap<>();
+
+            // Add player data to the event
+            eventData.put("player", ProxyObject.fromMap(createPlayerProxyData(player, true)));
 
-        // Block information
-        Map<String, Object> blockData = new HashMap<>();
-        blockData.put("id", block.name());
-        blockData.put("namespaceId", block.key().asString());
-        eventData.put("block", ProxyObject.fromMap(blockData));
+            // Block information
+            Map<String, Object> blockData = new HashMap<>();
+            blockData.put("id", block.name());
+            blockData.put("namespaceId", block.key().asString());
+            eventData.put("block", ProxyObject.fromMap(blockData));
 
-        // Block position
-        Map<String, Object> positionData = new HashMap<>();
-        positionData.put("x", blockPosition.x());
-        positionData.put("y", blockPosition.y());
-        positionData.put("z", blockPosition.z());
-        eventData.put("position", ProxyObject.fromMap(positionData));
+            // Block position
+            Map<String, Object> positionData = new HashMap<>();
+            positionData.put("x", blockPosition.x());
+            positionData.put("y", blockPosition.y());
+            positionData.put("z", blockPosition.z());
+            eventData.put("position", ProxyObject.fromMap(positionData));
 
-        // Hand information
-        eventData.put("hand", hand == PlayerHand.MAIN  ? "main_hand" : "off_hand");
+            // Hand information
+            eventData.put("hand", hand == PlayerHand.MAIN  ? "main_hand" : "off_hand");
+            eventData.put("cancel", cancelFunction);
+
+            return new Object[]{ProxyObject.fromMap(eventData)};
+        });
+    }
+
+    private void fireRegionTransition(Player player, String regionId, boolean entered) {
+        String eventName = entered ? "regionEnter" : "regionLeave";
+        dispatchJsEvent(jsEventListeners.idOf(eventName), eventName, player, null, null, null, null, () -> {
+            Map<String, Object> eventData = new HashMap<>();
+            eventData.put("player", getPlayerHandle(player));
+            eventData.put("region", regionId);
+            return new Object[]{ProxyObject.fromMap(eventData)};
+        });
+    }
 
-        triggerJsEvent("playerBlockInteract", player, ProxyObject.fromMap(eventData));
+    /**
+     * Returns the cached script handle for a player. Handles are reused across events and script reloads
+     * and dropped when the player leaves.
+     */
+    public EntityHandle getPlayerHandle(Player player) {
+        return playerHandles.computeIfAbsent(player.getUuid(), uuid -> new EntityHandle(player, createPlayerProxyData(player, false), this));
+    }
+
+    /**
+     * Resolves a script value to an online player: a player handle, an object with a {@code uuid} member,
+     * or a UUID string. Returns null if the value does not name an online player.
+     */
+    public Player resolvePlayer(Value value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isProxyObject() && value.asProxyObject() instanceof EntityHandle handle) {
+            return handle.getEntity() instanceof Player player && player.isOnline() ? player : null;
+        }
+        try {
+            Value uuidValue = value.isString() ? value : value.getMember("uuid");
+            if (uuidValue == null || !uuidValue.isString()) {
+                return null;
+            }
+            return MinecraftServer.getConnectionManager().getOnlinePlayerByUuid(UUID.fromString(uuidValue.asString()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the cached script handle for an entity; players get their player handle.
+     */
+    public EntityHandle getEntityHandle(Entity entity) {
+        if (entity instanceof Player player) {
+            return getPlayerHandle(player);
+        }
+        if (entityHandlePruneTask == null) {
+            startEntityHandlePruning();
+        }
+        return entityHandles.computeIfAbsent(entity.getEntityId(), id -> new EntityHandle(entity, createEntityProxyData(entity), this));
+    }
+
+    /**
+     * Drops the handles of removed entities every few seconds, off the lookup path.
+     */
+    private synchronized void startEntityHandlePruning() {
+        if (entityHandlePruneTask == null) {
+            entityHandlePruneTask = MinecraftServer.getSchedulerManager()
+                    .buildTask(() -> entityHandles.values().removeIf(handle -> handle.getEntity().isRemoved()))
+                    .repeat(TaskSchedule.tick(ENTITY_HANDLE_PRUNE_INTERVAL_TICKS))
+                    .schedule();
+        }
+    }
+
+    public ProxyObject getInstanceHandle(Instance instance) {
+        return instanceHandles.computeIfAbsent(instance.getUuid(), uuid -> createInstanceProxyData(instance, true));
+    }
+
+    private Map<String, Object> createEntityProxyData(Entity entity) {
+        Map<String, Object> entityData = new HashMap<>();
+        entityData.put("id", entity.getEntityId());
+        entityData.put("uuid", entity.getUuid().toString());
+        entityData.put("type", entity.getEntityType().key().asString());
+        entityData.put("getPosition", (ProxyExecutable) (Value... args) -> {
+            Pos position = entity.getPosition();
+            Map<String, Object> posMap = new HashMap<>();
+            posMap.put("x", position.x());
+            posMap.put("y", position.y());
+            posMap.put("z", position.z());
+            return ProxyObject.fromMap(posMap);
+        });
+        entityData.put("isRemoved", (ProxyExecutable) (Value... args) -> entity.isRemoved());
+        return entityData;
     }
 
     private Map<String, Object> createPlayerProxyData(Player player, boolean includeInstance) {
@@ -213,11 +494,26 @@ public class ScriptingManager {
         playerData.put("uuid", player.getUuid().toString());
         playerData.put("sendMessage", (ProxyExecutable) (Value... args) -> {
             if (args.length > 0 && args[0].isString()) {
-                String message = args[0].asString();
-                player.sendMessage(message);
+                // Queued: deduplicated, budgeted and flushed once per tick
+                outboundQueue.sendMessage(player, Component.text(args[0].asString()));
+            }
+            return null;
+        });
+        playerData.put("sendActionBar", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0 && args[0].isString()) {
+                outboundQueue.sendActionBar(player, Component.text(args[0].asString()));
+            }
+            return null;
+        });
+        playerData.put("showTitle", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0 && args[0].isString()) {
+                Component subtitle = args.length > 1 && args[1].isString() ? Component.text(args[1].asString()) : Component.empty();
+                outboundQueue.showTitle(player, Title.title(Component.text(args[0].asString()), subtitle));
             }
             return null;
         });
+        // Declarative sidebar, boss bar and tab list; only differences are sent, once per tick
+        playerData.put("ui", playerUiManager.proxy(player));
         playerData.put("getPosition", (ProxyExecutable) (Value... args) -> {
             Pos position = player.getPosition();
             Map<String, Object> posMap = new HashMap<>();
@@ -258,6 +554,113 @@ public class ScriptingManager {
         return playerData;
     }
 
+    /**
+     * {@code instance.findPath(from, to, options?)}: searches on the pathfinding pool and resolves with
+     * {@code [{x, y, z}, ...]} block positions, or null if there is no path.
+     */
+    private Object findPath(Instance instance, Value[] args) {
+        ScriptInstance scriptInstance = currentScriptInstance;
+        if (scriptInstance == null || args.length < 2 || !isPoint(args[0]) || !isPoint(args[1])) {
+            System.err.println("ScriptingManager: Invalid arguments for instance.findPath. Expected (from: {x, y, z}, to: {x, y, z}, options?: {maxNodes?, maxDrop?}).");
+            return null;
+        }
+        Value options = args.length > 2 && args[2].hasMembers() ? args[2] : null;
+        Pathfinder.Options searchOptions = new Pathfinder.Options(
+                options != null && options.hasMember("maxNodes") ? options.getMember("maxNodes").asInt() : Pathfinder.Options.DEFAULT.maxNodes(),
+                options != null && options.hasMember("maxDrop") ? options.getMember("maxDrop").asInt() : Pathfinder.Options.DEFAULT.maxDrop());
+        ScriptPromise promise = scriptInstance.newPromise();
+        Pathfinder.findPath(instance, toVec(args[0]), toVec(args[1]), searchOptions).whenComplete((path, error) -> {
+            if (error != null) {
+                promise.rejectLater("Pathfinding failed: " + error.getMessage());
+                return;
+            }
+            promise.resolveLater(() -> {
+                if (path.isEmpty()) {
+                    return null;
+                }
+                Object[] waypoints = new Object[path.size()];
+                for (int i = 0; i < waypoints.length; i++) {
+                    Vec waypoint = path.get(i);
+                    Map<String, Object> point = new HashMap<>();
+                    point.put("x", waypoint.blockX());
+                    point.put("y", waypoint.blockY());
+                    point.put("z", waypoint.blockZ());
+                    waypoints[i] = ProxyObject.fromMap(point);
+                }
+                return ProxyArray.fromArray(waypoints);
+            });
+        });
+        return promise.getPromise();
+    }
+
+    /**
+     * {@code instance.spawnEntities(type, positions)}: spawns one entity per {@code x, y, z} triple and returns
+     * a group handle. Groups belong to the running script and are removed when it unloads.
+     */
+    private Object spawnEntities(Instance instance, Value[] args) {
+        ScriptInstance scriptInstance = currentScriptInstance;
+        EntityType entityType = args.length > 1 && args[0].isString() ? EntityType.fromKey(args[0].asString()) : null;
+        if (scriptInstance == null || entityType == null) {
+            System.err.println("ScriptingManager: Invalid arguments for instance.spawnEntities. Expected (type: string, positions: Float64Array).");
+            return null;
+        }
+        double[] positions;
+        try {
+            positions = StructuredClone.readDoubles(args[1]);
+        } catch (IllegalArgumentException e) {
+            System.err.println("ScriptingManager: instance.spawnEntities: " + e.getMessage());
+            return null;
+        }
+        if (positions.length / EntityGroup.POSITION_STRIDE > MAX_GROUP_SIZE) {
+            System.err.println("ScriptingManager: instance.spawnEntities: Groups are limited to " + MAX_GROUP_SIZE + " entities.");
+            return null;
+        }
+        EntityGroup group = new EntityGroup(instance, entityType, positions);
+        entityGroups.add(group);
+
+        ByteBuffer idBuffer = ByteBuffer.allocateDirect(group.size() * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < group.size(); i++) {
+            idBuffer.putInt(i * Integer.BYTES, group.getEntity(i).getEntityId());
+        }
+        Map<String, Object> handle = new HashMap<>();
+        handle.put("size", group.size());
+        handle.put("ids", scriptInstance.wrapBuffer(idBuffer, "Int32Array"));
+        handle.put("setPositions", (ProxyExecutable) (Value... setArgs) -> {
+            try {
+                group.setPositions(StructuredClone.readDoubles(setArgs.length > 0 ? setArgs[0] : null));
+            } catch (IllegalArgumentException e) {
+                System.err.println("ScriptingManager: group.setPositions: " + e.getMessage());
+            }
+            return null;
+        });
+        handle.put("entity", (ProxyExecutable) (Value... entityArgs) -> {
+            int index = entityArgs.length > 0 && entityArgs[0].isNumber() ? entityArgs[0].asInt() : -1;
+            return index >= 0 && index < group.size() ? getEntityHandle(group.getEntity(index)) : null;
+        });
+        handle.put("remove", (ProxyExecutable) (Value... removeArgs) -> {
+            entityGroups.remove(group);
+            group.remove();
+            return null;
+        });
+        return ProxyObject.fromMap(handle);
+    }
+
+    private void removeEntityGroups() {
+        for (EntityGroup group : entityGroups) {
+            group.remove();
+        }
+        entityGroups.clear();
+    }
+
+    private static boolean isPoint(Value value) {
+        return value != null && value.hasMember("x") && value.hasMember("y") && value.hasMember("z")
+                && value.getMember("x").isNumber() && value.getMember("y").isNumber() && value.getMember("z").isNumber();
+    }
+
+    private static Vec toVec(Value point) {
+        return new Vec(Math.floor(point.getMember("x").asDouble()), Math.floor(point.getMember("y").asDouble()), Math.floor(point.getMember("z").asDouble()));
+    }
+
     private ProxyObject createInstanceProxyData(Instance instance, boolean allowModification) {
         Map<String, Object> instanceApi = new HashMap<>();
         if (instance != null) {
@@ -296,6 +699,7 @@ public class ScriptingManager {
                         Block block = Block.fromKey(blockId);
                         if (block != null) {
                             instance.setBlock(x, y, z, block);
+                            Pathfinder.invalidate(instance, x, y, z);
                         } else {
                             System.err.println("ScriptingManager: Invalid blockId '" + blockId + "' for instance.setBlock.");
                         }
@@ -308,24 +712,85 @@ public class ScriptingManager {
                 return null;
             });
 
-            instanceApi.put("getBlock", (ProxyExecutable) (Value... args) -> {
-                if (args.length == 3 && args[0].isNumber() && args[1].isNumber() && args[2].isNumber()) {
-                    int x = args[0].asInt();
-                    int y = args[1].asInt();
-                    int z = args[2].asInt();
-                    Block block = instance.getBlock(x, y, z);
-                    return block != null ? block.toString() : "minecraft:air";
-                } else {
-                    System.err.println("ScriptingManager: Invalid arguments for instance.getBlock. Expected (x, y, z).");
-                    return "minecraft:air";
+            instanceApi.put("findPath", (ProxyExecutable) (Value... args) -> findPath(instance, args));
+
+            instanceApi.put("spawnEntities", (ProxyExecutable) (Value... args) -> {
+                if (!allowModification) {
+                    System.err.println("ScriptingManager: instance.spawnEntities called when modification is not allowed for instance " + instance.getUuid() + " - operation ignored.");
+                    return null;
+                }
+                return spawnEntities(instance, args);
+            });
+
+            instanceApi.put("raycast", (ProxyExecutable) (Value... args) -> {
+                if (args.length < 3 || !args[2].isNumber()) {
+                    System.err.println("ScriptingManager: Invalid arguments for instance.raycast. Expected (origin, direction, maxDistance, options?).");
+                    return null;
                 }
+                return raycast.raycast(instance, args[0], args[1], args[2].asDouble(), args.length > 3 ? args[3] : null);
+            });
+
+            instanceApi.put("raycastMany", (ProxyExecutable) (Value... args) -> {
+                if (args.length < 2 || !args[1].isNumber()) {
+                    System.err.println("ScriptingManager: Invalid arguments for instance.raycastMany. Expected (rays: Float64Array, maxDistance, options?).");
+                    return null;
+                }
+                return raycast.raycastMany(currentScriptInstance, instance, args[0], args[1].asDouble(), args.length > 2 ? args[2] : null);
+            });
+
+            instanceApi.put("readRegion", (ProxyExecutable) (Value... args) ->
+                    readRegion.execute(currentScriptInstance, instance, args.length > 0 ? args[0] : null, args.length > 1 ? args[1] : null));
+
+            // Spatial queries are answered by the instance's entity tracker, which buckets entities by chunk
+            // and is updated incrementally as they move, so no per-player distance math happens in JS
+            instanceApi.put("nearbyPlayers", (ProxyExecutable) (Value... args) -> {
+                if (args.length == 4 && args[0].isNumber() && args[1].isNumber() && args[2].isNumber() && args[3].isNumber()) {
+                    Vec center = new Vec(args[0].asDouble(), args[1].asDouble(), args[2].asDouble());
+                    double radius = args[3].asDouble();
+                    double radiusSquared = radius * radius;
+                    List<Object> handles = new ArrayList<>();
+                    instance.getEntityTracker().nearbyEntities(center, radius, EntityTracker.Target.PLAYERS, player -> {
+                        if (player.getPosition().distanceSquared(center) <= radiusSquared) {
+                            handles.add(getPlayerHandle(player));
+                        }
+                    });
+                    return ProxyArray.fromList(handles);
+                }
+                System.err.println("ScriptingManager: Invalid arguments for instance.nearbyPlayers. Expected (x, y, z, radius).");
+                return ProxyArray.fromList(new ArrayList<>());
+            });
+
+            instanceApi.put("entitiesInBox", (ProxyExecutable) (Value... args) -> {
+                if (args.length == 6 && Arrays.stream(args).allMatch(Value::isNumber)) {
+                    double minX = Math.min(args[0].asDouble(), args[3].asDouble());
+                    double minY = Math.min(args[1].asDouble(), args[4].asDouble());
+                    double minZ = Math.min(args[2].asDouble(), args[5].asDouble());
+                    double maxX = Math.max(args[0].asDouble(), args[3].asDouble());
+                    double maxY = Math.max(args[1].asDouble(), args[4].asDouble());
+                    double maxZ = Math.max(args[2].asDouble(), args[5].asDouble());
+                    Vec center = new Vec((minX + maxX) / 2, (minY + maxY) / 2, (minZ + maxZ) / 2);
+                    // Chunk range covering the box horizontally; the exact box test happens below
+                    int chunkRange = (int) Math.ceil(Math.max(maxX - minX, maxZ - minZ) / 2 / 16) + 1;
+                    List<Object> handles = new ArrayList<>();
+                    instance.getEntityTracker().nearbyEntitiesByChunkRange(center, chunkRange, EntityTracker.Target.ENTITIES, entity -> {
+                        Pos position = entity.getPosition();
+                        if (position.x() >= minX && position.x() <= maxX
+                                && position.y() >= minY && position.y() <= maxY
+                                && position.z() >= minZ && position.z() <= maxZ) {
+                            handles.add(getEntityHandle(entity));
+                        }
+                    });
+                    return ProxyArray.fromList(handles);
+                }
+                System.err.println("ScriptingManager: Invalid arguments for instance.entitiesInBox. Expected (minX, minY, minZ, maxX, maxY, maxZ).");
+                return ProxyArray.fromList(new ArrayList<>());
             });
 
             instanceApi.put("sendMessage", (ProxyExecutable) (Value... args) -> {
                 if (allowModification) {
                     if (args.length > 0 && args[0].isString()) {
-                        String message = args[0].asString();
-                        instance.getPlayers().forEach(p -> p.sendMessage(message));
+                        // The instance is a packet grouping audience: the chat packet is encoded once for all its players
+                        instance.sendMessage(Component.text(args[0].asString()));
                     }
                 } else {
                     System.out.println("ScriptingManager: instance.sendMessage called when modification is not allowed for instance " + instance.getUuid() + " (message not sent).");
@@ -339,11 +804,44 @@ public class ScriptingManager {
     }
 
     private void triggerJsEvent(String eventName, Player targetOutputPlayer, Object... args) {
-        List<Value> listeners = jsEventListeners.get(eventName);
-        if (listeners != null && !listeners.isEmpty() && currentScriptInstance != null) {
-            for (Value listener : new ArrayList<>(listeners)) {
+        triggerJsEvent(jsEventListeners.idOf(eventName), eventName, targetOutputPlayer, args);
+    }
+
+    private void triggerJsEvent(int eventId, String eventName, Player targetOutputPlayer, Object... args) {
+        dispatchJsEvent(eventId, eventName, targetOutputPlayer, null, null, null, null, () -> args);
+    }
+
+    /**
+     * Calls the listeners of an event whose filters accept it, in priority order. The payload is only built
+     * once the first listener passes its filter, so events nobody wants never cross into JavaScript.
+     *
+     * @param cancellable The Minestom event {@code event.cancel()} applies to, or null if it cannot be cancelled.
+     */
+    void dispatchJsEvent(int eventId, String eventName, Player targetOutputPlayer, Point position, Block block, PlayerHand hand,
+                         CancellableEvent cancellable, Supplier<Object[]> payload) {
+        ScriptListener[] listeners = jsEventListeners.get(eventId);
+        if (listeners.length == 0 || currentScriptInstance == null || currentScriptInstance.isClosed()) {
+            return;
+        }
+        ScriptInstance scriptInstance = currentScriptInstance;
+        CancellableEvent outerEvent = dispatchingEvent.get();
+        dispatchingEvent.set(cancellable);
+        scriptInstance.beginEntry();
+        try {
+            Object[] args = null;
+            for (ScriptListener scriptListener : listeners) {
+                if (scriptInstance.isClosed()) {
+                    break;
+                }
+                if (scriptListener.filter() != null && !scriptListener.filter().test(targetOutputPlayer, position, block, hand)) {
+                    continue;
+                }
+                Value listener = scriptListener.callback();
                 if (listener != null && listener.canExecute()) {
                     try {
+                        if (args == null) {
+                            args = payload.get();
+                        }
                         listener.execute(args);
 
                         String eventStdout = currentScriptInstance.getStdout();
@@ -364,6 +862,7 @@ public class ScriptingManager {
                         }
 
                     } catch (Exception e) {
+                        scriptInstance.checkCancelled(e);
                         String errorMsg = "Error executing JS event listener for '" + eventName + "': " + e.getMessage();
                         if (targetOutputPlayer != null) targetOutputPlayer.sendMessage(errorMsg);
                         else System.err.println(errorMsg);
@@ -375,16 +874,35 @@ public class ScriptingManager {
                      else System.err.println(errorMsg);
                 }
             }
+        } finally {
+            scriptInstance.endEntry();
+            dispatchingEvent.set(outerEvent);
         }
     }
 
     public void close() {
         if (currentScriptInstance != null) {
+            triggerJsEvent("scriptUnload", null);
             currentScriptInstance.close();
             currentScriptInstance = null;
         }
         unregisterScriptCommands();
         jsEventListeners.clear();
-        System.out.println("ScriptingManager closed and listeners cleared.");
+        removeEntityGroups();
+        playerUiManager.close();
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        if (entityHandlePruneTask != null) {
+            entityHandlePruneTask.cancel();
+            entityHandlePruneTask = null;
+        }
+        entityHandles.clear();
+        eventBridge.close();
+        regionManager.clearRegions();
+        outboundQueue.close();
+        bridge.close();
+        System.out.println("ScriptingManager closed and listeners cleared (pack '" + packName + "').");
     }
 }
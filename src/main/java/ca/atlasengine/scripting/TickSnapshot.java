@@ -0,0 +1,138 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The payload of the {@code tick} script event: the state of every online player in columns, filled in one
+ * pass over host buffers that scripts read through typed arrays. Row {@code i} of every column describes the
+ * same player; only the first {@code count} rows are valid.
+ * <ul>
+ *     <li>{@code ids}: Int32Array of entity ids; {@code player(i)} returns the player handle of a row.</li>
+ *     <li>{@code positions}: Float64Array of {@code x, y, z, yaw, pitch} per row.</li>
+ *     <li>{@code health}: Float32Array.</li>
+ *     <li>{@code instances}: Int32Array of indexes into {@code instanceIds}, -1 when the player has no instance.</li>
+ * </ul>
+ * The buffers, views and snapshot object are reused every tick and only reallocated when the player count
+ * outgrows them, so a snapshot is only valid during the listener call it was passed to.
+ */
+public class TickSnapshot {
+
+    public static final int POSITION_STRIDE = 5;
+
+    private final ScriptingManager scriptingManager;
+    private final Map<String, Object> members = new HashMap<>();
+    private final ProxyObject proxy = ProxyObject.fromMap(members);
+    private final List<Object> instanceIds = new ArrayList<>();
+    private final Map<UUID, Integer> instanceIndexes = new HashMap<>();
+    private ScriptInstance viewOwner;
+    private int capacity;
+    private IntBuffer ids;
+    private DoubleBuffer positions;
+    private FloatBuffer health;
+    private IntBuffer instances;
+    private Player[] players = new Player[0];
+    private int count;
+    private long tick;
+
+    public TickSnapshot(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+        members.put("instanceIds", ProxyArray.fromList(instanceIds));
+        members.put("player", (ProxyExecutable) (Value... args) -> {
+            int row = args.length > 0 && args[0].isNumber() ? args[0].asInt() : -1;
+            return row >= 0 && row < count ? scriptingManager.getPlayerHandle(players[row]) : null;
+        });
+    }
+
+    /**
+     * Refills the columns from the online players and returns the script-facing snapshot.
+     */
+    public ProxyObject capture(ScriptInstance scriptInstance) {
+        Collection<Player> online = MinecraftServer.getConnectionManager().getOnlinePlayers();
+        if (online.size() > capacity || viewOwner != scriptInstance) {
+            allocate(scriptInstance, Math.max(online.size(), Math.max(16, capacity)));
+        }
+        instanceIds.clear();
+        instanceIndexes.clear();
+        int row = 0;
+        for (Player player : online) {
+            if (row == capacity) break; // Joined between size() and iteration; picked up next tick
+            Pos position = player.getPosition();
+            int base = row * POSITION_STRIDE;
+            ids.put(row, player.getEntityId());
+            positions.put(base, position.x());
+            positions.put(base + 1, position.y());
+            positions.put(base + 2, position.z());
+            positions.put(base + 3, position.yaw());
+            positions.put(base + 4, position.pitch());
+            health.put(row, player.getHealth());
+            instances.put(row, instanceIndex(player.getInstance()));
+            players[row] = player;
+            row++;
+        }
+        for (int i = row; i < count; i++) {
+            players[i] = null;
+        }
+        count = row;
+        members.put("count", count);
+        members.put("tick", tick++);
+        return proxy;
+    }
+
+    private int instanceIndex(Instance instance) {
+        if (instance == null) {
+            return -1;
+        }
+        Integer index = instanceIndexes.get(instance.getUuid());
+        if (index == null) {
+            index = instanceIds.size();
+            instanceIndexes.put(instance.getUuid(), index);
+            instanceIds.add(instance.getUuid().toString());
+        }
+        return index;
+    }
+
+    private void allocate(ScriptInstance scriptInstance, int newCapacity) {
+        if (newCapacity > capacity) {
+            newCapacity = Math.max(newCapacity, capacity * 2);
+        }
+        ByteBuffer idBuffer = direct(newCapacity * Integer.BYTES);
+        ByteBuffer positionBuffer = direct(newCapacity * POSITION_STRIDE * Double.BYTES);
+        ByteBuffer healthBuffer = direct(newCapacity * Float.BYTES);
+        ByteBuffer instanceBuffer = direct(newCapacity * Integer.BYTES);
+        ids = idBuffer.asIntBuffer();
+        positions = positionBuffer.asDoubleBuffer();
+        health = healthBuffer.asFloatBuffer();
+        instances = instanceBuffer.asIntBuffer();
+        players = new Player[newCapacity];
+        capacity = newCapacity;
+        count = 0;
+        viewOwner = scriptInstance;
+        members.put("ids", scriptInstance.wrapBuffer(idBuffer, "Int32Array"));
+        members.put("positions", scriptInstance.wrapBuffer(positionBuffer, "Float64Array"));
+        members.put("health", scriptInstance.wrapBuffer(healthBuffer, "Float32Array"));
+        members.put("instances", scriptInstance.wrapBuffer(instanceBuffer, "Int32Array"));
+    }
+
+    private static ByteBuffer direct(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,131 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.instance.block.Block;
+
+import java.util.Set;
+
+/**
+ * Walks the blocks a ray passes through (Amanatides-Woo voxel traversal), reading state ids straight from
+ * chunk palettes through a {@link ChunkBlockReader}. Reuse one raycast for many rays in the same instance:
+ * consecutive rays through the same chunk skip the chunk lookup.
+ * <p>
+ * Rays run on the calling thread and cannot be interrupted, so they are bounded: the distance is clamped to
+ * {@link #MAX_DISTANCE}, and a ray ends (as a miss) when it enters an unloaded chunk.
+ * <p>
+ * Not thread-safe.
+ */
+public class VoxelRaycast {
+
+    public static final double MAX_DISTANCE = 512;
+
+    private final ChunkBlockReader reader;
+    private final boolean solidOnly;
+    private final Set<Integer> ignoredBlockIds;
+
+    // Result of the last cast
+    private int hitX, hitY, hitZ, hitStateId;
+    private double hitDistance;
+
+    /**
+     * @param solidOnly       Whether only solid blocks stop the ray; otherwise any non-air block does.
+     * @param ignoredBlockIds Block ids (not state ids) the ray passes through, or null.
+     */
+    public VoxelRaycast(ChunkBlockReader reader, boolean solidOnly, Set<Integer> ignoredBlockIds) {
+        this.reader = reader;
+        this.solidOnly = solidOnly;
+        this.ignoredBlockIds = ignoredBlockIds;
+    }
+
+    /**
+     * Casts a ray. The direction does not need to be normalized.
+     *
+     * @param maxDistance Clamped to {@link #MAX_DISTANCE}.
+     * @return Whether a block was hit within {@code maxDistance}; the hit is then available from the getters.
+     */
+    public boolean cast(double originX, double originY, double originZ, double dirX, double dirY, double dirZ, double maxDistance) {
+        double length = Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
+        if (length == 0 || !(maxDistance > 0)) {
+            return false;
+        }
+        dirX /= length;
+        dirY /= length;
+        dirZ /= length;
+        maxDistance = Math.min(maxDistance, MAX_DISTANCE);
+
+        int x = (int) Math.floor(originX), y = (int) Math.floor(originY), z = (int) Math.floor(originZ);
+        int stepX = dirX > 0 ? 1 : -1, stepY = dirY > 0 ? 1 : -1, stepZ = dirZ > 0 ? 1 : -1;
+        double deltaX = dirX == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dirX);
+        double deltaY = dirY == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dirY);
+        double deltaZ = dirZ == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dirZ);
+        double nextX = dirX == 0 ? Double.POSITIVE_INFINITY : (stepX > 0 ? x + 1 - originX : originX - x) * deltaX;
+        double nextY = dirY == 0 ? Double.POSITIVE_INFINITY : (stepY > 0 ? y + 1 - originY : originY - y) * deltaY;
+        double nextZ = dirZ == 0 ? Double.POSITIVE_INFINITY : (stepZ > 0 ? z + 1 - originZ : originZ - z) * deltaZ;
+
+        double distance = 0;
+        while (distance <= maxDistance) {
+            if (reader.getChunk(x >> 4, z >> 4) == null) {
+                return false;
+            }
+            int stateId = reader.getStateId(x, y, z);
+            if (stops(stateId)) {
+                hitX = x;
+                hitY = y;
+                hitZ = z;
+                hitStateId = stateId;
+                hitDistance = distance;
+                return true;
+            }
+            if (nextX < nextY && nextX < nextZ) {
+                x += stepX;
+                distance = nextX;
+                nextX += deltaX;
+            } else if (nextY < nextZ) {
+                y += stepY;
+                distance = nextY;
+                nextY += deltaY;
+            } else {
+                z += stepZ;
+                distance = nextZ;
+                nextZ += deltaZ;
+            }
+        }
+        return false;
+    }
+
+    private boolean stops(int stateId) {
+        if (stateId == ChunkBlockReader.AIR_STATE_ID) {
+            return false;
+        }
+        if (solidOnly && !PassabilityGrid.isSolidState(stateId)) {
+            return false;
+        }
+        if (ignoredBlockIds != null && !ignoredBlockIds.isEmpty()) {
+            Block block = Block.fromStateId(stateId);
+            return block == null || !ignoredBlockIds.contains(block.id());
+        }
+        return true;
+    }
+
+    public int getHitX() {
+        return this.hitX;
+    }
+
+    public int getHitY() {
+        return this.hitY;
+    }
+
+    public int getHitZ() {
+        return this.hitZ;
+    }
+
+    public int getHitStateId() {
+        return this.hitStateId;
+    }
+
+    /**
+     * Distance from the origin to where the ray entered the hit block.
+     */
+    public double getHitDistance() {
+        return this.hitDistance;
+    }
+}
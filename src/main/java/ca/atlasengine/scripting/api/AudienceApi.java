@@ -0,0 +1,158 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.ScriptingManager;
+import net.kyori.adventure.text.Component;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.adventure.audience.PacketGroupingAudience;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reusable groups of players exposed to scripts as {@code minestom.audiences}.
+ * <p>
+ * Every audience sends through a {@link PacketGroupingAudience}, so a message is built and encoded once per
+ * send rather than once per player. Named audiences (teams) keep their members on the host, survive script
+ * reloads and lose players when they disconnect; instance and permission audiences read their members live.
+ */
+public class AudienceApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AudienceApi.class);
+    private final ScriptingManager scriptingManager;
+    private final Map<String, Set<Player>> namedAudiences = new ConcurrentHashMap<>();
+
+    public AudienceApi(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+    }
+
+    public void removePlayer(Player player) {
+        for (Set<Player> members : namedAudiences.values()) {
+            members.remove(player);
+        }
+    }
+
+    /**
+     * Returns the named audience, creating it empty if it does not exist yet.
+     */
+    public ProxyObject create(String name) {
+        Set<Player> members = namedAudiences.computeIfAbsent(name, k -> ConcurrentHashMap.newKeySet());
+        return createHandle(name, PacketGroupingAudience.of(members), members);
+    }
+
+    public ProxyObject forInstance(Value instanceValue) {
+        try {
+            Value uuidValue = instanceValue.isString() ? instanceValue : instanceValue.getMember("uuid");
+            UUID instanceId = UUID.fromString(uuidValue.isString() ? uuidValue.asString() : uuidValue.toString());
+            Instance instance = MinecraftServer.getInstanceManager().getInstance(instanceId);
+            if (instance == null) {
+                LOGGER.error("AudienceApi.instance: Instance not found: {}", instanceId);
+                return null;
+            }
+            // Instances are packet grouping audiences themselves; their player set is kept up to date by Minestom
+            return createHandle("instance:" + instanceId, instance, null);
+        } catch (Exception e) {
+            LOGGER.error("AudienceApi.instance: Invalid instance: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public ProxyObject forPermissionLevel(int level) {
+        PacketGroupingAudience audience = () -> MinecraftServer.getConnectionManager().getOnlinePlayers().stream()
+                .filter(player -> player.getPermissionLevel() >= level)
+                .toList();
+        return createHandle("permission:" + level, audience, null);
+    }
+
+    /**
+     * @param members The mutable member set of a named audience, or null for audiences managed elsewhere.
+     */
+    private ProxyObject createHandle(String name, PacketGroupingAudience audience, Set<Player> members) {
+        Map<String, Object> handle = new HashMap<>();
+        handle.put("name", name);
+        handle.put("sendMessage", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0 && args[0].isString()) {
+                audience.sendMessage(Component.text(args[0].asString()));
+            } else {
+                LOGGER.error("AudienceApi.sendMessage: Invalid arguments. Expected (message: string).");
+            }
+            return null;
+        });
+        handle.put("sendActionBar", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0 && args[0].isString()) {
+                audience.sendActionBar(Component.text(args[0].asString()));
+            } else {
+                LOGGER.error("AudienceApi.sendActionBar: Invalid arguments. Expected (message: string).");
+            }
+            return null;
+        });
+        handle.put("size", (ProxyExecutable) (Value... args) -> audience.getPlayers().size());
+        handle.put("players", (ProxyExecutable) (Value... args) -> {
+            Collection<Player> players = audience.getPlayers();
+            return ProxyArray.fromArray(players.stream().map(scriptingManager::getPlayerHandle).toArray());
+        });
+        handle.put("has", (ProxyExecutable) (Value... args) -> {
+            Player player = args.length > 0 ? scriptingManager.resolvePlayer(args[0]) : null;
+            return player != null && audience.getPlayers().contains(player);
+        });
+        if (members != null) {
+            handle.put("add", (ProxyExecutable) (Value... args) -> {
+                Player player = args.length > 0 ? scriptingManager.resolvePlayer(args[0]) : null;
+                if (player == null) {
+                    LOGGER.error("AudienceApi.add: Expected an online player for audience '{}'.", name);
+                    return false;
+                }
+                return members.add(player);
+            });
+            handle.put("remove", (ProxyExecutable) (Value... args) -> {
+                Player player = args.length > 0 ? scriptingManager.resolvePlayer(args[0]) : null;
+                return player != null && members.remove(player);
+            });
+            handle.put("clear", (ProxyExecutable) (Value... args) -> {
+                members.clear();
+                return null;
+            });
+        }
+        return ProxyObject.fromMap(handle);
+    }
+
+    public ProxyObject createProxy() {
+        Map<String, Object> api = new HashMap<>();
+        api.put("create", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0 && args[0].isString()) {
+                return create(args[0].asString());
+            }
+            LOGGER.error("AudienceApi.create: Invalid arguments. Expected (name: string).");
+            return null;
+        });
+        api.put("instance", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0) {
+                return forInstance(args[0]);
+            }
+            LOGGER.error("AudienceApi.instance: Invalid arguments. Expected (instance: Instance | string).");
+            return null;
+        });
+        api.put("permission", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0 && args[0].isNumber()) {
+                return forPermissionLevel(args[0].asInt());
+            }
+            LOGGER.error("AudienceApi.permission: Invalid arguments. Expected (level: number).");
+            return null;
+        });
+        api.put("delete", (ProxyExecutable) (Value... args) ->
+                args.length > 0 && args[0].isString() && namedAudiences.remove(args[0].asString()) != null);
+        api.put("list", (ProxyExecutable) (Value... args) -> ProxyArray.fromArray(namedAudiences.keySet().toArray()));
+        return ProxyObject.fromMap(api);
+    }
+}
@@ -2,6 +2,7 @@ package ca.atlasengine.scripting.api;
 
 import net.kyori.adventure.text.Component;
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.adventure.audience.PacketGroupingAudience;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,9 +22,8 @@ public class BroadcastMessage {
             return;
         }
         try {
-            MinecraftServer.getConnectionManager().getOnlinePlayers().forEach(player -> {
-                player.sendMessage(Component.text(message));
-            });
+            // Grouped send: the chat packet is built and encoded once, then written to every connection
+            PacketGroupingAudience.of(MinecraftServer.getConnectionManager().getOnlinePlayers()).sendMessage(Component.text(message));
         } catch (Exception e) {
             LOGGER.error("BroadcastMessageCommand.execute: An unexpected error occurred: {}", e.getMessage());
             e.printStackTrace();
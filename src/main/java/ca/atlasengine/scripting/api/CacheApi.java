@@ -0,0 +1,152 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.ScriptCache;
+import ca.atlasengine.scripting.ScriptInstance;
+import ca.atlasengine.scripting.ScriptingManager;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named host-side caches exposed to scripts as {@code minestom.cache(name, options)}.
+ * <p>
+ * Caches belong to a script pack: every context of the pack asking for the same name gets the same cache,
+ * and entries outlive reloads. Names are namespaced by pack, so packs cannot reach each other's caches. Values are stored as {@link StructuredClone} data and recreated
+ * in the reading context.
+ */
+public class CacheApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheApi.class);
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final Map<String, ScriptCache> CACHES = new ConcurrentHashMap<>(); // Keyed by "<pack>/<name>"
+    private final ScriptingManager scriptingManager;
+
+    public CacheApi(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+    }
+
+    /**
+     * Returns the named cache, creating it if needed. Limits given in the options replace the current ones.
+     *
+     * @param options Optional {@code {maxEntries, maxWeight, ttlTicks, weigher}}; the weigher is a
+     *                {@code (key, value) => number} function of the calling context, used by this handle only.
+     */
+    public ProxyObject cache(String name, Value options) {
+        if (name == null || name.isBlank()) {
+            LOGGER.error("CacheApi.cache: Cache name is required.");
+            return null;
+        }
+        boolean hasOptions = options != null && options.hasMembers();
+        int maxEntries = hasOptions && options.hasMember("maxEntries") ? options.getMember("maxEntries").asInt() : -1;
+        long maxWeight = hasOptions && options.hasMember("maxWeight") ? options.getMember("maxWeight").asLong() : -1;
+        long ttlTicks = hasOptions && options.hasMember("ttlTicks") ? options.getMember("ttlTicks").asLong() : -1;
+        Value weigher = hasOptions && options.hasMember("weigher") && options.getMember("weigher").canExecute()
+                ? options.getMember("weigher") : null;
+
+        ScriptCache cache = CACHES.computeIfAbsent(scriptingManager.getPackName() + "/" + name, k -> new ScriptCache(name,
+                maxEntries >= 0 ? maxEntries : DEFAULT_MAX_ENTRIES, Math.max(0, maxWeight), Math.max(0, ttlTicks)));
+        if (hasOptions) {
+            cache.configure(maxEntries >= 0 ? maxEntries : cache.getMaxEntries(),
+                    maxWeight >= 0 ? maxWeight : cache.getMaxWeight(),
+                    ttlTicks >= 0 ? ttlTicks : cache.getTtlTicks());
+        }
+        return createHandle(cache, weigher);
+    }
+
+    private ProxyObject createHandle(ScriptCache cache, Value weigher) {
+        Map<String, Object> handle = new HashMap<>();
+        handle.put("name", cache.getName());
+        handle.put("get", (ProxyExecutable) (Value... args) -> {
+            String key = key(args);
+            return key != null ? toScript(cache.get(key)) : null;
+        });
+        handle.put("set", (ProxyExecutable) (Value... args) -> {
+            String key = key(args);
+            if (key == null || args.length < 2) {
+                LOGGER.error("CacheApi.set: Invalid arguments for cache '{}'. Expected (key: string, value: any).", cache.getName());
+                return false;
+            }
+            return put(cache, weigher, key, args[1]);
+        });
+        handle.put("getOrCompute", (ProxyExecutable) (Value... args) -> {
+            String key = key(args);
+            if (key == null || args.length < 2 || !args[1].canExecute()) {
+                LOGGER.error("CacheApi.getOrCompute: Invalid arguments for cache '{}'. Expected (key: string, compute: (key) => any).", cache.getName());
+                return null;
+            }
+            Object cached = cache.get(key);
+            if (cached != null) {
+                return toScript(cached);
+            }
+            Value computed = args[1].execute(key);
+            put(cache, weigher, key, computed);
+            return computed;
+        });
+        handle.put("has", (ProxyExecutable) (Value... args) -> {
+            String key = key(args);
+            return key != null && cache.containsKey(key);
+        });
+        handle.put("delete", (ProxyExecutable) (Value... args) -> {
+            String key = key(args);
+            return key != null && cache.remove(key);
+        });
+        handle.put("clear", (ProxyExecutable) (Value... args) -> {
+            cache.clear();
+            return null;
+        });
+        handle.put("stats", (ProxyExecutable) (Value... args) -> {
+            Map<String, Object> stats = new HashMap<>();
+            long hits = cache.getHits(), misses = cache.getMisses();
+            stats.put("size", cache.size());
+            stats.put("weight", cache.getTotalWeight());
+            stats.put("hits", hits);
+            stats.put("misses", misses);
+            stats.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            stats.put("evictions", cache.getEvictions());
+            stats.put("expirations", cache.getExpirations());
+            return ProxyObject.fromMap(stats);
+        });
+        return ProxyObject.fromMap(handle);
+    }
+
+    private boolean put(ScriptCache cache, Value weigher, String key, Value value) {
+        Object data;
+        try {
+            data = StructuredClone.fromValue(value);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("CacheApi.set: Cannot cache value for key '{}' in '{}': {}", key, cache.getName(), e.getMessage());
+            return false;
+        }
+        if (data == null) {
+            return cache.remove(key);
+        }
+        long weight = 1;
+        if (weigher != null) {
+            Value result = weigher.execute(key, value);
+            weight = result.isNumber() ? result.asLong() : 1;
+        }
+        cache.put(key, data, weight);
+        return true;
+    }
+
+    private Object toScript(Object data) {
+        if (data == null) {
+            return null;
+        }
+        ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
+        return scriptInstance != null ? StructuredClone.toValue(scriptInstance, data) : null;
+    }
+
+    private static String key(Value[] args) {
+        if (args.length == 0 || args[0].isNull()) {
+            return null;
+        }
+        return args[0].isString() ? args[0].asString() : args[0].toString();
+    }
+}
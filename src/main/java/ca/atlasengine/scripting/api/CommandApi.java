@@ -1,6 +1,7 @@
 package ca.atlasengine.scripting.api;
 
 import ca.atlasengine.scripting.MinestomBridge;
+import ca.atlasengine.scripting.ScriptInstance;
 import ca.atlasengine.scripting.ScriptingManager;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.command.CommandManager;
@@ -39,11 +40,13 @@ public record CommandApi(ScriptingManager scriptingManager) {
             return;
         }
 
-        String commandName = commandDefinitionValue.getMember("name").asString();
-        if (commandName == null || commandName.isBlank()) {
+        String scriptCommandName = commandDefinitionValue.getMember("name").asString();
+        if (scriptCommandName == null || scriptCommandName.isBlank()) {
             LOGGER.error("Scripting: Command name is required in definition.");
             return;
         }
+        // Commands of packs other than the main one live in the pack's namespace, e.g. "minigames:join"
+        String commandName = scriptingManager.qualifyCommandName(scriptCommandName);
 
         Value syntaxesValue = commandDefinitionValue.getMember("syntaxes");
         if (syntaxesValue == null || !syntaxesValue.hasArrayElements() || syntaxesValue.getArraySize() == 0) {
@@ -199,7 +202,7 @@ class DynamicScriptCommand extends Command {
     }
 
     private void executeJsHandler(CommandSender sender, CommandContext context, Value specificJsHandler) {
-        if (scriptingManager.getCurrentScriptInstance() == null) {
+        if (scriptingManager.getCurrentScriptInstance() == null || scriptingManager.getCurrentScriptInstance().isClosed()) {
             sender.sendMessage("Error: Scripting engine is not ready for command " + getName());
             return;
         }
@@ -250,19 +253,27 @@ class DynamicScriptCommand extends Command {
         });
         ProxyObject contextProxy = ProxyObject.fromMap(contextProxyMap);
 
+        ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
         try {
-            specificJsHandler.execute(senderProxy, contextProxy);
-            String stdout = scriptingManager.getCurrentScriptInstance().getStdout();
+            // Commands are entries like events: the pack's per-entry quotas apply and are reset afterwards
+            scriptInstance.beginEntry();
+            try {
+                specificJsHandler.execute(senderProxy, contextProxy);
+            } finally {
+                scriptInstance.endEntry();
+            }
+            String stdout = scriptInstance.getStdout();
             if (stdout != null && !stdout.isEmpty()) {
                 LOGGER.error("Script command '{}' STDOUT: {}", getName(), stdout.trim());
             }
-            String stderr = scriptingManager.getCurrentScriptInstance().getStderr();
+            String stderr = scriptInstance.getStderr();
             if (stderr != null && !stderr.isEmpty()) {
                 LOGGER.error("Script command '{}' STDERR: {}", getName(), stderr.trim());
                 sender.sendMessage("Script Error (see console): " + stderr.lines().findFirst().orElse("Unknown error"));
             }
         } catch (Exception e) {
             LOGGER.error("Error executing JS command handler for '{}': {}", getName(), e.getMessage(), e);
+            scriptInstance.checkCancelled(e);
             sender.sendMessage("Internal error executing command " + getName());
         }
     }
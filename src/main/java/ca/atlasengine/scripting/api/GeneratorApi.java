@@ -0,0 +1,74 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.GraalVmFileSystemAdapter;
+import ca.atlasengine.scripting.InMemoryFileSystem;
+import ca.atlasengine.scripting.ScriptGenerator;
+import ca.atlasengine.scripting.ScriptingManager;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Instance;
+import org.graalvm.polyglot.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Installs {@link ScriptGenerator}s for {@code minestom.registerGenerator(instance, file)}.
+ * Generators run in their own contexts, so they keep working across reloads of the main script
+ * until they are replaced or the server shuts down.
+ */
+public class GeneratorApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratorApi.class);
+    private final ScriptingManager scriptingManager;
+    private final Map<UUID, ScriptGenerator> generators = new ConcurrentHashMap<>();
+
+    public GeneratorApi(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+    }
+
+    /**
+     * @param instanceValue Instance UUID string, or an instance object with a {@code uuid} member.
+     */
+    public boolean register(Value instanceValue, String fileName) {
+        Instance instance;
+        try {
+            Value uuidValue = instanceValue.isString() ? instanceValue : instanceValue.getMember("uuid");
+            instance = MinecraftServer.getInstanceManager().getInstance(
+                    UUID.fromString(uuidValue.isString() ? uuidValue.asString() : uuidValue.toString()));
+        } catch (Exception e) {
+            LOGGER.error("GeneratorApi.register: Invalid instance: {}", e.getMessage());
+            return false;
+        }
+        if (instance == null) {
+            LOGGER.error("GeneratorApi.register: Instance not found.");
+            return false;
+        }
+        Path scriptsDir = scriptingManager.getScriptsDir().toAbsolutePath().normalize();
+        Path scriptPath = scriptsDir.resolve(fileName.endsWith(".js") ? fileName : fileName + ".js").normalize();
+        if (!scriptPath.startsWith(scriptsDir) || !Files.exists(scriptPath)) {
+            LOGGER.error("GeneratorApi.register: Generator script not found in scripts directory: {}", fileName);
+            return false;
+        }
+
+        InMemoryFileSystem inMemoryFs = new InMemoryFileSystem(scriptingManager.getScriptsDir(), Collections.emptyMap());
+        ScriptGenerator generator = new ScriptGenerator(scriptPath.getFileName().toString(), scriptPath,
+                new GraalVmFileSystemAdapter(inMemoryFs, Path.of("./")), scriptingManager.getLimits());
+        instance.setGenerator(generator);
+        ScriptGenerator previous = generators.put(instance.getUuid(), generator);
+        if (previous != null) {
+            previous.close();
+        }
+        return true;
+    }
+
+    public void closeAll() {
+        generators.values().forEach(ScriptGenerator::close);
+        generators.clear();
+    }
+}
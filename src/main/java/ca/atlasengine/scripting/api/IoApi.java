@@ -0,0 +1,255 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.ScriptInstance;
+import ca.atlasengine.scripting.ScriptPromise;
+import ca.atlasengine.scripting.ScriptingManager;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous I/O exposed to scripts as {@code minestom.io}.
+ * <p>
+ * Every call runs on its own virtual thread and returns a Promise that is settled back on the server
+ * thread. File access is confined to the scripts directory; network access is limited to loopback.
+ */
+public class IoApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IoApi.class);
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Duration NETWORK_TIMEOUT = Duration.ofSeconds(10);
+    private static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .executor(VIRTUAL_THREADS)
+            .connectTimeout(NETWORK_TIMEOUT)
+            .build();
+
+    private final ScriptingManager scriptingManager;
+
+    public IoApi(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+    }
+
+    /**
+     * Runs the blocking call on a virtual thread and settles the returned Promise on the server thread.
+     *
+     * @param toScript Converts the call's result into a script value; runs on the server thread.
+     */
+    private <T> Value runAsync(String operation, Callable<T> call, Function<T, Object> toScript) {
+        ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
+        if (scriptInstance == null) {
+            LOGGER.warn("IoApi.{}: No active script instance.", operation);
+            return null;
+        }
+        ScriptPromise promise = scriptInstance.newPromise();
+        VIRTUAL_THREADS.execute(() -> {
+            try {
+                T result = call.call();
+                promise.resolveLater(() -> toScript.apply(result));
+            } catch (Exception e) {
+                promise.rejectLater("io." + operation + " failed: " + e.getMessage());
+            }
+        });
+        return promise.getPromise();
+    }
+
+    private Path resolveSandboxed(String relativePath) throws IOException {
+        Path scriptsDir = scriptingManager.getScriptsDir().toAbsolutePath().normalize();
+        Path resolved = scriptsDir.resolve(relativePath).normalize();
+        if (!resolved.startsWith(scriptsDir)) {
+            throw new IOException("Path escapes the scripts directory: " + relativePath);
+        }
+        // Follow symlinks on the nearest existing ancestor, so neither the file nor a linked parent directory
+        // can point outside the sandbox; a dangling link fails to resolve and is rejected as well
+        Path existing = resolved;
+        while (existing != null && !Files.exists(existing, LinkOption.NOFOLLOW_LINKS)) {
+            existing = existing.getParent();
+        }
+        if (existing == null || !existing.toRealPath().startsWith(scriptsDir.toRealPath())) {
+            throw new IOException("Path escapes the scripts directory: " + relativePath);
+        }
+        return resolved;
+    }
+
+    /**
+     * Accepts {@code localhost} and literal loopback addresses only. Names are never resolved, so the check
+     * costs no DNS lookup on the server thread and cannot be rebound to another address later.
+     */
+    private static void requireLoopback(String host) throws IOException {
+        boolean loopback = false;
+        if (host != null) {
+            if (host.equalsIgnoreCase("localhost")) {
+                loopback = true;
+            } else if (IPV4_LITERAL.matcher(host).matches() || host.startsWith("[")) {
+                loopback = InetAddress.getByName(host).isLoopbackAddress();
+            }
+        }
+        if (!loopback) {
+            throw new IOException("Only loopback hosts are allowed, got: " + host);
+        }
+    }
+
+    public Value readFile(String path) {
+        return runAsync("readFile", () -> Files.readString(resolveSandboxed(path)), content -> content);
+    }
+
+    public Value readBytes(String path) {
+        ScriptInstance owner = scriptingManager.getCurrentScriptInstance();
+        return runAsync("readBytes", () -> {
+            byte[] bytes = Files.readAllBytes(resolveSandboxed(path));
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(bytes).flip();
+            return buffer;
+        }, buffer -> owner.wrapBuffer(buffer, "Uint8Array"));
+    }
+
+    public Value writeFile(String path, Value data) {
+        Object content;
+        try {
+            content = StructuredClone.fromValue(data);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("IoApi.writeFile: Unsupported data for '{}': {}", path, e.getMessage());
+            return null;
+        }
+        return runAsync("writeFile", () -> {
+            Path target = resolveSandboxed(path);
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            if (content instanceof StructuredClone.BinaryData binary) {
+                ByteBuffer source = binary.data().duplicate().clear();
+                byte[] bytes = new byte[source.remaining()];
+                source.get(bytes);
+                Files.write(target, bytes);
+            } else {
+                Files.writeString(target, content != null ? String.valueOf(content) : "");
+            }
+            return null;
+        }, ignored -> null);
+    }
+
+    public Value listDir(String path) {
+        return runAsync("listDir", () -> {
+            try (Stream<Path> entries = Files.list(resolveSandboxed(path))) {
+                return entries.map(entry -> entry.getFileName().toString() + (Files.isDirectory(entry) ? "/" : "")).sorted().toList();
+            }
+        }, names -> ProxyArray.fromArray(names.toArray()));
+    }
+
+    public Value fetch(String url, Value options) {
+        HttpRequest request;
+        try {
+            URI uri = URI.create(url);
+            requireLoopback(uri.getHost());
+            String method = options != null && options.hasMember("method") ? options.getMember("method").asString().toUpperCase() : "GET";
+            String body = options != null && options.hasMember("body") ? options.getMember("body").asString() : null;
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .timeout(NETWORK_TIMEOUT)
+                    .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody());
+            if (options != null && options.hasMember("headers") && options.getMember("headers").hasMembers()) {
+                Value headers = options.getMember("headers");
+                for (String name : headers.getMemberKeys()) {
+                    builder.header(name, headers.getMember(name).asString());
+                }
+            }
+            request = builder.build();
+        } catch (Exception e) {
+            LOGGER.error("IoApi.fetch: Invalid request for '{}': {}", url, e.getMessage());
+            return runAsync("fetch", () -> {
+                throw new IOException(e.getMessage());
+            }, ignored -> null);
+        }
+
+        return runAsync("fetch", () -> HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString()), response -> {
+            Map<String, Object> result = new HashMap<>();
+            result.put("status", response.statusCode());
+            result.put("body", response.body());
+            Map<String, Object> headers = new HashMap<>();
+            response.headers().map().forEach((name, values) -> headers.put(name, String.join(", ", values)));
+            result.put("headers", ProxyObject.fromMap(headers));
+            return ProxyObject.fromMap(result);
+        });
+    }
+
+    /**
+     * Sends a message to a loopback TCP port and resolves with everything the peer answers before closing.
+     */
+    public Value sendLocal(int port, String message) {
+        return runAsync("sendLocal", () -> {
+            InetAddress loopback = InetAddress.getLoopbackAddress();
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(loopback, port), (int) NETWORK_TIMEOUT.toMillis());
+                socket.setSoTimeout((int) NETWORK_TIMEOUT.toMillis());
+                OutputStream out = socket.getOutputStream();
+                out.write(message.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                socket.shutdownOutput();
+                InputStream in = socket.getInputStream();
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }, response -> response);
+    }
+
+    public ProxyObject createProxy() {
+        Map<String, Object> api = new HashMap<>();
+        api.put("readFile", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 1 && args[0].isString()) return readFile(args[0].asString());
+            LOGGER.error("IoApi.readFile: Invalid arguments. Expected (path: string).");
+            return null;
+        });
+        api.put("readBytes", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 1 && args[0].isString()) return readBytes(args[0].asString());
+            LOGGER.error("IoApi.readBytes: Invalid arguments. Expected (path: string).");
+            return null;
+        });
+        api.put("writeFile", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 2 && args[0].isString()) return writeFile(args[0].asString(), args[1]);
+            LOGGER.error("IoApi.writeFile: Invalid arguments. Expected (path: string, data: string | Uint8Array).");
+            return null;
+        });
+        api.put("listDir", (ProxyExecutable) (Value... args) -> {
+            String path = args.length >= 1 && args[0].isString() ? args[0].asString() : ".";
+            return listDir(path);
+        });
+        api.put("fetch", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 1 && args[0].isString()) return fetch(args[0].asString(), args.length >= 2 ? args[1] : null);
+            LOGGER.error("IoApi.fetch: Invalid arguments. Expected (url: string, options?: object).");
+            return null;
+        });
+        api.put("sendLocal", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 2 && args[0].fitsInInt() && args[1].isString()) return sendLocal(args[0].asInt(), args[1].asString());
+            LOGGER.error("IoApi.sendLocal: Invalid arguments. Expected (port: number, message: string).");
+            return null;
+        });
+        return ProxyObject.fromMap(api);
+    }
+}
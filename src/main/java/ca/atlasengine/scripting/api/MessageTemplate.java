@@ -0,0 +1,140 @@
+package ca.atlasengine.scripting.api;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.translation.GlobalTranslator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message template compiled once into literal segments and {@code <name>} placeholder slots.
+ * <p>
+ * Plain templates render by concatenating segments. MiniMessage templates are parsed once, with every
+ * placeholder turned into a marker; rendering only replaces the markers in the parsed component tree, so
+ * formatting is never re-parsed. Rendered components are cached per locale and argument values.
+ */
+public class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("<([a-z_][a-z0-9_-]*)>");
+    private static final char MARKER = '\uE000'; // Private use character, never typed by players
+    private static final Pattern MARKER_PATTERN = Pattern.compile(MARKER + "(\\d+)" + MARKER);
+    private static final int RENDER_CACHE_SIZE = 256;
+
+    private final String source;
+    private final List<String> slots = new ArrayList<>();
+    private final String[] segments; // Plain templates: segments[i] precedes slot i; the last one trails
+    private final Component parsed;  // MiniMessage templates: slot i appears as MARKER i MARKER
+    private final Map<String, Component> renderCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Component> eldest) {
+            return size() > RENDER_CACHE_SIZE;
+        }
+    };
+
+    private MessageTemplate(String source, boolean miniMessage) {
+        this.source = source;
+        if (miniMessage) {
+            this.segments = null;
+            this.parsed = MiniMessage.miniMessage().deserialize(source,
+                    TagResolver.resolver(TagResolver.standard(), new SlotResolver()));
+        } else {
+            List<String> parts = new ArrayList<>();
+            Matcher matcher = PLACEHOLDER.matcher(source);
+            int last = 0;
+            while (matcher.find()) {
+                parts.add(source.substring(last, matcher.start()));
+                slots.add(matcher.group(1));
+                last = matcher.end();
+            }
+            parts.add(source.substring(last));
+            this.segments = parts.toArray(new String[0]);
+            this.parsed = null;
+        }
+    }
+
+    /**
+     * @param miniMessage Whether the source uses MiniMessage formatting tags; placeholders are then the tags
+     *                    MiniMessage does not know.
+     * @throws RuntimeException if the MiniMessage source is malformed.
+     */
+    public static MessageTemplate compile(String source, boolean miniMessage) {
+        return new MessageTemplate(source, miniMessage);
+    }
+
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Placeholder names in slot order. A name used twice occupies two slots.
+     */
+    public List<String> getSlots() {
+        return this.slots;
+    }
+
+    /**
+     * Renders the template for a locale. Translatable parts are translated with the global translator.
+     *
+     * @param values One value per slot, in {@link #getSlots()} order.
+     */
+    public Component render(Locale locale, String[] values) {
+        String cacheKey = locale + "\u0000" + String.join("\u0000", values);
+        synchronized (renderCache) {
+            Component cached = renderCache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Component rendered = GlobalTranslator.render(build(values), locale);
+        synchronized (renderCache) {
+            renderCache.put(cacheKey, rendered);
+        }
+        return rendered;
+    }
+
+    private Component build(String[] values) {
+        if (parsed == null) {
+            StringBuilder builder = new StringBuilder(source.length() + 16 * values.length);
+            for (int i = 0; i < values.length; i++) {
+                builder.append(segments[i]).append(values[i]);
+            }
+            builder.append(segments[segments.length - 1]);
+            return Component.text(builder.toString());
+        }
+        if (values.length == 0) {
+            return parsed;
+        }
+        return parsed.replaceText(TextReplacementConfig.builder()
+                .match(MARKER_PATTERN)
+                .replacement((match, text) -> text.content(values[Integer.parseInt(match.group(1))]))
+                .build());
+    }
+
+    /**
+     * Resolves every tag the standard resolvers do not know into a numbered slot marker.
+     */
+    private final class SlotResolver implements TagResolver {
+        @Override
+        public Tag resolve(String name, ArgumentQueue arguments, Context ctx) {
+            int slot = slots.size();
+            slots.add(name);
+            return Tag.selfClosingInserting(Component.text(MARKER + Integer.toString(slot) + MARKER));
+        }
+
+        @Override
+        public boolean has(String name) {
+            return !TagResolver.standard().has(name);
+        }
+    }
+}
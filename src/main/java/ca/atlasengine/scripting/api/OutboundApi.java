@@ -0,0 +1,48 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.OutboundQueue;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Budgets of the per-player outbound queue, exposed to scripts as {@code minestom.outbound}.
+ */
+public class OutboundApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboundApi.class);
+    private final OutboundQueue outboundQueue;
+
+    public OutboundApi(OutboundQueue outboundQueue) {
+        this.outboundQueue = outboundQueue;
+    }
+
+    public ProxyObject createProxy() {
+        Map<String, Object> api = new HashMap<>();
+        api.put("configure", (ProxyExecutable) (Value... args) -> {
+            if (args.length == 0 || !args[0].hasMembers()) {
+                LOGGER.error("OutboundApi.configure: Invalid arguments. Expected ({maxLinesPerTick?, maxLinesPerSecond?}).");
+                return null;
+            }
+            Value options = args[0];
+            int perTick = options.hasMember("maxLinesPerTick") ? options.getMember("maxLinesPerTick").asInt() : outboundQueue.getMaxLinesPerTick();
+            int perSecond = options.hasMember("maxLinesPerSecond") ? options.getMember("maxLinesPerSecond").asInt() : outboundQueue.getMaxLinesPerSecond();
+            outboundQueue.configure(perTick, perSecond);
+            return null;
+        });
+        api.put("stats", (ProxyExecutable) (Value... args) -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("maxLinesPerTick", outboundQueue.getMaxLinesPerTick());
+            stats.put("maxLinesPerSecond", outboundQueue.getMaxLinesPerSecond());
+            stats.put("dropped", outboundQueue.getDroppedLines());
+            stats.put("deduplicated", outboundQueue.getDedupedLines());
+            return ProxyObject.fromMap(stats);
+        });
+        return ProxyObject.fromMap(api);
+    }
+}
@@ -0,0 +1,118 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.PlayerColumns;
+import ca.atlasengine.scripting.ScriptInstance;
+import ca.atlasengine.scripting.ScriptingManager;
+import net.minestom.server.entity.Player;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columnar per-player data exposed to scripts as {@code minestom.playerData}. See {@link PlayerColumns}.
+ */
+public class PlayerDataApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlayerDataApi.class);
+    private static final String[] COLUMN_MEMBERS = {"name", "type", "view", "get", "set"};
+    private final ScriptingManager scriptingManager;
+    private final PlayerColumns playerColumns;
+
+    public PlayerDataApi(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+        this.playerColumns = scriptingManager.getPlayerColumns();
+    }
+
+    /**
+     * Script handle of a column. {@code view} is read on every access, so it follows the column when it grows.
+     */
+    private final class ColumnHandle implements ProxyObject {
+        private final PlayerColumns.Column column;
+        private final ProxyExecutable get;
+        private final ProxyExecutable set;
+
+        ColumnHandle(PlayerColumns.Column column) {
+            this.column = column;
+            this.get = (Value... args) -> {
+                Player player = args.length > 0 ? scriptingManager.resolvePlayer(args[0]) : null;
+                return player != null ? column.get(player) : 0;
+            };
+            this.set = (Value... args) -> {
+                Player player = args.length > 1 && args[1].isNumber() ? scriptingManager.resolvePlayer(args[0]) : null;
+                if (player == null) {
+                    LOGGER.error("PlayerDataApi.set: Invalid arguments for column '{}'. Expected (player: Player | string, value: number).", column.getName());
+                    return false;
+                }
+                return column.set(player, args[1].asDouble());
+            };
+        }
+
+        @Override
+        public Object getMember(String key) {
+            return switch (key) {
+                case "name" -> column.getName();
+                case "type" -> column.getType().name().toLowerCase();
+                case "view" -> {
+                    ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
+                    yield scriptInstance != null ? column.view(scriptInstance) : null;
+                }
+                case "get" -> get;
+                case "set" -> set;
+                default -> null;
+            };
+        }
+
+        @Override
+        public Object getMemberKeys() {
+            return ProxyArray.fromArray((Object[]) COLUMN_MEMBERS);
+        }
+
+        @Override
+        public boolean hasMember(String key) {
+            for (String member : COLUMN_MEMBERS) {
+                if (member.equals(key)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void putMember(String key, Value value) {
+            throw new UnsupportedOperationException("Player data columns are read-only.");
+        }
+    }
+
+    public ProxyObject createProxy() {
+        Map<String, Object> api = new HashMap<>();
+        api.put("defineColumn", (ProxyExecutable) (Value... args) -> {
+            PlayerColumns.Type type = args.length > 1 && args[1].isString() ? PlayerColumns.Type.of(args[1].asString()) : null;
+            if (type == null || !args[0].isString()) {
+                LOGGER.error("PlayerDataApi.defineColumn: Invalid arguments. Expected (name: string, type: 'int8' | 'uint8' | 'int16' | 'int32' | 'float32' | 'float64').");
+                return null;
+            }
+            try {
+                return new ColumnHandle(playerColumns.define(args[0].asString(), type));
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("PlayerDataApi.defineColumn: {}", e.getMessage());
+                return null;
+            }
+        });
+        api.put("column", (ProxyExecutable) (Value... args) -> {
+            PlayerColumns.Column column = args.length > 0 && args[0].isString() ? playerColumns.getColumn(args[0].asString()) : null;
+            return column != null ? new ColumnHandle(column) : null;
+        });
+        api.put("slot", (ProxyExecutable) (Value... args) -> {
+            Player player = args.length > 0 ? scriptingManager.resolvePlayer(args[0]) : null;
+            return player != null ? playerColumns.assign(player) : -1;
+        });
+        api.put("capacity", (ProxyExecutable) (Value... args) -> playerColumns.getCapacity());
+        api.put("columns", (ProxyExecutable) (Value... args) ->
+                ProxyArray.fromArray(playerColumns.getColumns().stream().map(PlayerColumns.Column::getName).toArray()));
+        return ProxyObject.fromMap(api);
+    }
+}
@@ -0,0 +1,143 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.ChunkBlockReader;
+import ca.atlasengine.scripting.ScriptInstance;
+import ca.atlasengine.scripting.VoxelRaycast;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code instance.raycast} and {@code instance.raycastMany}: voxel walks evaluated on the host, so a ray costs
+ * one call no matter how many blocks it crosses, and a batch of rays costs one call in total.
+ */
+public class Raycast {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Raycast.class);
+    public static final int RAY_STRIDE = 6;
+    private static final int MAX_RAYS = 1 << 16;
+    // Total distance a batch may walk, so a full batch of long rays stays within a few milliseconds
+    private static final double MAX_BATCH_DISTANCE = 1 << 21;
+
+    /**
+     * @param options Optional {@code {solidOnly?: boolean, ignore?: string[]}}.
+     * @return {@code {x, y, z, block, distance, point: {x, y, z}}} for the first block hit, or null.
+     */
+    public Object raycast(Instance instance, Value origin, Value direction, double maxDistance, Value options) {
+        if (!isPoint(origin) || !isPoint(direction)) {
+            LOGGER.error("Raycast.raycast: Invalid arguments. Expected (origin: {x, y, z}, direction: {x, y, z}, maxDistance: number, options?).");
+            return null;
+        }
+        VoxelRaycast raycast = createRaycast(instance, options);
+        double originX = origin.getMember("x").asDouble(), originY = origin.getMember("y").asDouble(), originZ = origin.getMember("z").asDouble();
+        double dirX = direction.getMember("x").asDouble(), dirY = direction.getMember("y").asDouble(), dirZ = direction.getMember("z").asDouble();
+        if (!raycast.cast(originX, originY, originZ, dirX, dirY, dirZ, maxDistance)) {
+            return null;
+        }
+        double length = Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
+        double distance = raycast.getHitDistance();
+        Map<String, Object> point = new HashMap<>();
+        point.put("x", originX + dirX / length * distance);
+        point.put("y", originY + dirY / length * distance);
+        point.put("z", originZ + dirZ / length * distance);
+        Block block = Block.fromStateId(raycast.getHitStateId());
+        Map<String, Object> hit = new HashMap<>();
+        hit.put("x", raycast.getHitX());
+        hit.put("y", raycast.getHitY());
+        hit.put("z", raycast.getHitZ());
+        hit.put("block", block != null ? block.toString() : "minecraft:air");
+        hit.put("stateId", raycast.getHitStateId());
+        hit.put("distance", distance);
+        hit.put("point", ProxyObject.fromMap(point));
+        return ProxyObject.fromMap(hit);
+    }
+
+    /**
+     * Casts every ray of a Float64Array laid out as {@code originX, originY, originZ, dirX, dirY, dirZ} per ray.
+     *
+     * @return {@code {count, stateIds, blocks, distances}}: per ray the hit state id (-1 on a miss), the hit
+     * block position (3 ints) and the distance to it (-1 on a miss), as typed arrays.
+     */
+    public Object raycastMany(ScriptInstance scriptInstance, Instance instance, Value rays, double maxDistance, Value options) {
+        double[] input;
+        try {
+            input = StructuredClone.readDoubles(rays);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Raycast.raycastMany: {}", e.getMessage());
+            return null;
+        }
+        int count = input.length / RAY_STRIDE;
+        if (scriptInstance == null || count > MAX_RAYS) {
+            LOGGER.error("Raycast.raycastMany: No active script instance or more than {} rays ({}).", MAX_RAYS, count);
+            return null;
+        }
+        if (count > 0 && count * Math.min(maxDistance, VoxelRaycast.MAX_DISTANCE) > MAX_BATCH_DISTANCE) {
+            maxDistance = MAX_BATCH_DISTANCE / count;
+            LOGGER.warn("Raycast.raycastMany: {} rays exceed the batch budget; maxDistance reduced to {}.", count, maxDistance);
+        }
+        ByteBuffer stateIds = direct(count * Integer.BYTES);
+        ByteBuffer blocks = direct(count * 3 * Integer.BYTES);
+        ByteBuffer distances = direct(count * Double.BYTES);
+        VoxelRaycast raycast = createRaycast(instance, options);
+        for (int ray = 0, base = 0; ray < count; ray++, base += RAY_STRIDE) {
+            if (raycast.cast(input[base], input[base + 1], input[base + 2], input[base + 3], input[base + 4], input[base + 5], maxDistance)) {
+                stateIds.putInt(ray * Integer.BYTES, raycast.getHitStateId());
+                blocks.putInt(ray * 3 * Integer.BYTES, raycast.getHitX());
+                blocks.putInt((ray * 3 + 1) * Integer.BYTES, raycast.getHitY());
+                blocks.putInt((ray * 3 + 2) * Integer.BYTES, raycast.getHitZ());
+                distances.putDouble(ray * Double.BYTES, raycast.getHitDistance());
+            } else {
+                stateIds.putInt(ray * Integer.BYTES, -1);
+                distances.putDouble(ray * Double.BYTES, -1);
+            }
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("count", count);
+        result.put("stateIds", scriptInstance.wrapBuffer(stateIds, "Int32Array"));
+        result.put("blocks", scriptInstance.wrapBuffer(blocks, "Int32Array"));
+        result.put("distances", scriptInstance.wrapBuffer(distances, "Float64Array"));
+        return ProxyObject.fromMap(result);
+    }
+
+    private static VoxelRaycast createRaycast(Instance instance, Value options) {
+        boolean solidOnly = true;
+        Set<Integer> ignored = null;
+        if (options != null && options.hasMembers()) {
+            if (options.hasMember("solidOnly") && options.getMember("solidOnly").isBoolean()) {
+                solidOnly = options.getMember("solidOnly").asBoolean();
+            }
+            Value ignore = options.getMember("ignore");
+            if (ignore != null && ignore.hasArrayElements()) {
+                ignored = new HashSet<>();
+                for (long i = 0; i < ignore.getArraySize(); i++) {
+                    Block block = Block.fromKey(ignore.getArrayElement(i).asString());
+                    if (block != null) {
+                        ignored.add(block.id());
+                    } else {
+                        LOGGER.warn("Raycast: Unknown block id '{}' in options.ignore.", ignore.getArrayElement(i));
+                    }
+                }
+            }
+        }
+        return new VoxelRaycast(new ChunkBlockReader(instance), solidOnly, ignored);
+    }
+
+    private static ByteBuffer direct(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static boolean isPoint(Value value) {
+        return value != null && value.hasMember("x") && value.hasMember("y") && value.hasMember("z")
+                && value.getMember("x").isNumber() && value.getMember("y").isNumber() && value.getMember("z").isNumber();
+    }
+}
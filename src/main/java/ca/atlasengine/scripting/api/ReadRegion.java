@@ -0,0 +1,119 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.ChunkBlockReader;
+import ca.atlasengine.scripting.ScriptInstance;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ReadRegion {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadRegion.class);
+    private static final long MAX_VOLUME = 1L << 22; // 4M blocks, 16 MiB of indexes
+
+    /**
+     * Reads every block between two corners (inclusive) into a host buffer of palette indexes.
+     * The buffer is handed to JavaScript as an Int32Array without copying.
+     * <p>
+     * Layout: {@code index = ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX)}.
+     * {@code palette[i]} is the block state string of index {@code i}, {@code stateIds[i]} its state id.
+     *
+     * @param min Object with x, y and z members.
+     * @param max Object with x, y and z members.
+     */
+    public Object execute(ScriptInstance scriptInstance, Instance instance, Value min, Value max) {
+        if (scriptInstance == null || !isPoint(min) || !isPoint(max)) {
+            LOGGER.error("ReadRegion.execute: Invalid arguments. Expected (min: {x, y, z}, max: {x, y, z}).");
+            return null;
+        }
+        int minX = Math.min(coordinate(min, "x"), coordinate(max, "x"));
+        int minY = Math.min(coordinate(min, "y"), coordinate(max, "y"));
+        int minZ = Math.min(coordinate(min, "z"), coordinate(max, "z"));
+        int maxX = Math.max(coordinate(min, "x"), coordinate(max, "x"));
+        int maxY = Math.max(coordinate(min, "y"), coordinate(max, "y"));
+        int maxZ = Math.max(coordinate(min, "z"), coordinate(max, "z"));
+        int sizeX = maxX - minX + 1, sizeY = maxY - minY + 1, sizeZ = maxZ - minZ + 1;
+        long volume = (long) sizeX * sizeY * sizeZ;
+        if (volume > MAX_VOLUME) {
+            LOGGER.error("ReadRegion.execute: Region of {} blocks exceeds the limit of {}.", volume, MAX_VOLUME);
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) volume * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        IntBuffer indexes = buffer.asIntBuffer();
+        PaletteBuilder palette = new PaletteBuilder();
+        new ChunkBlockReader(instance).forEachStateId(minX, minY, minZ, maxX, maxY, maxZ, (x, y, z, stateId) ->
+                indexes.put(((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX), palette.indexOf(stateId)));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("sizeX", sizeX);
+        result.put("sizeY", sizeY);
+        result.put("sizeZ", sizeZ);
+        result.put("data", scriptInstance.wrapBuffer(buffer, "Int32Array"));
+        result.put("palette", ProxyArray.fromArray(palette.stateNames()));
+        result.put("stateIds", scriptInstance.wrapBuffer(palette.stateIdBuffer(), "Int32Array"));
+        return ProxyObject.fromMap(result);
+    }
+
+    private static boolean isPoint(Value value) {
+        return value != null && value.hasMember("x") && value.hasMember("y") && value.hasMember("z")
+                && value.getMember("x").isNumber() && value.getMember("y").isNumber() && value.getMember("z").isNumber();
+    }
+
+    private static int coordinate(Value point, String axis) {
+        return (int) Math.floor(point.getMember(axis).asDouble());
+    }
+
+    /**
+     * Maps state ids to dense palette indexes in order of first appearance.
+     */
+    private static final class PaletteBuilder {
+        private int[] indexByStateId = new int[0];
+        private int[] stateIds = new int[16];
+        private int size;
+
+        int indexOf(int stateId) {
+            if (stateId >= indexByStateId.length) {
+                int previousLength = indexByStateId.length;
+                indexByStateId = Arrays.copyOf(indexByStateId, Math.max(stateId + 1, previousLength * 2));
+                Arrays.fill(indexByStateId, previousLength, indexByStateId.length, -1);
+            }
+            int index = indexByStateId[stateId];
+            if (index < 0) {
+                index = size++;
+                if (index == stateIds.length) {
+                    stateIds = Arrays.copyOf(stateIds, stateIds.length * 2);
+                }
+                stateIds[index] = stateId;
+                indexByStateId[stateId] = index;
+            }
+            return index;
+        }
+
+        Object[] stateNames() {
+            Object[] names = new Object[size];
+            for (int i = 0; i < size; i++) {
+                Block block = Block.fromStateId(stateIds[i]);
+                names[i] = block != null ? block.toString() : "minecraft:air";
+            }
+            return names;
+        }
+
+        ByteBuffer stateIdBuffer() {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(size * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.asIntBuffer().put(stateIds, 0, size);
+            return buffer;
+        }
+    }
+}
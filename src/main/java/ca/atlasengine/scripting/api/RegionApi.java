@@ -0,0 +1,69 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.EntityHandle;
+import ca.atlasengine.scripting.EventFilter;
+import ca.atlasengine.scripting.RegionManager;
+import net.minestom.server.entity.Player;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Region definitions exposed to scripts as {@code minestom.regions}.
+ * Membership is tracked by {@link RegionManager}, which fires {@code regionEnter}/{@code regionLeave} events.
+ */
+public class RegionApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegionApi.class);
+    private final RegionManager regionManager;
+
+    public RegionApi(RegionManager regionManager) {
+        this.regionManager = regionManager;
+    }
+
+    /**
+     * @param instance Instance UUID string, or an instance object with a {@code uuid} member.
+     * @param box      {@code {min: {x, y, z}, max: {x, y, z}}}, inclusive.
+     */
+    public boolean define(String id, Value instance, Value box) {
+        try {
+            Value uuidValue = instance.isString() ? instance : instance.getMember("uuid");
+            UUID instanceId = UUID.fromString(uuidValue.isString() ? uuidValue.asString() : uuidValue.toString());
+            regionManager.define(id, instanceId, EventFilter.parseBox(box));
+            return true;
+        } catch (Exception e) {
+            LOGGER.error("RegionApi.define: Invalid region '{}': {}", id, e.getMessage());
+            return false;
+        }
+    }
+
+    public ProxyObject createProxy() {
+        Map<String, Object> api = new HashMap<>();
+        api.put("define", (ProxyExecutable) (Value... args) -> {
+            if (args.length == 3 && args[0].isString()) {
+                return define(args[0].asString(), args[1], args[2]);
+            }
+            LOGGER.error("RegionApi.define: Invalid arguments. Expected (id: string, instance: string | Instance, box: {min, max}).");
+            return false;
+        });
+        api.put("remove", (ProxyExecutable) (Value... args) -> args.length >= 1 && args[0].isString() && regionManager.remove(args[0].asString()));
+        api.put("list", (ProxyExecutable) (Value... args) ->
+                ProxyArray.fromArray(regionManager.getRegions().stream().map(RegionManager.Region::id).toArray()));
+        api.put("regionsOf", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 1 && args[0].isProxyObject() && args[0].asProxyObject() instanceof EntityHandle handle
+                    && handle.getEntity() instanceof Player player) {
+                return ProxyArray.fromArray(regionManager.getRegionsOf(player).toArray());
+            }
+            LOGGER.error("RegionApi.regionsOf: Invalid arguments. Expected (player: Player).");
+            return ProxyArray.fromArray();
+        });
+        return ProxyObject.fromMap(api);
+    }
+}
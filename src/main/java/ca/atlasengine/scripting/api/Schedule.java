@@ -1,24 +1,146 @@
 package ca.atlasengine.scripting.api;
 
 import ca.atlasengine.scripting.ScriptInstance;
+import ca.atlasengine.scripting.ScriptPromise;
 import ca.atlasengine.scripting.ScriptingManager;
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.timer.ExecutionType;
+import net.minestom.server.timer.Task;
 import net.minestom.server.timer.TaskSchedule;
 import org.graalvm.polyglot.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Deque;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
 
 public class Schedule {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Schedule.class);
+    private static final double DEFAULT_DEFER_BUDGET_MS = 2;
+    // Deferred work shares one deadline per tick; no job can ask for more than this
+    private static final double MAX_DEFER_BUDGET_MS = 10;
     private final ScriptingManager scriptingManager;
+    private final Deque<DeferredJob> deferredJobs = new ConcurrentLinkedDeque<>();
+    private volatile Task deferTask;
 
     public Schedule(ScriptingManager scriptingManager) {
         this.scriptingManager = scriptingManager;
     }
 
+    /**
+     * Work handed to {@link #defer}: items are fed to the function until the slice's deadline, then the job
+     * resumes on the next tick where it left off.
+     */
+    private static final class DeferredJob {
+        final ScriptInstance scriptInstance;
+        final Value items;    // Array-like items, read by index; null when iterating
+        final Value iterator; // Iterator of any other iterable; null for arrays
+        final Value function;
+        final long budgetNanos;
+        final ScriptPromise promise;
+        long index;
+
+        DeferredJob(ScriptInstance scriptInstance, Value iterable, Value function, long budgetNanos, ScriptPromise promise) {
+            this.scriptInstance = scriptInstance;
+            this.items = iterable.hasArrayElements() ? iterable : null;
+            this.iterator = items == null ? iterable.getIterator() : null;
+            this.function = function;
+            this.budgetNanos = budgetNanos;
+            this.promise = promise;
+        }
+
+        /**
+         * Processes items until {@code deadline}, always at least one.
+         *
+         * @return Whether items are left for a later tick.
+         */
+        boolean runSlice(long deadline) {
+            if (scriptInstance.isClosed()) {
+                return false;
+            }
+            scriptInstance.beginEntry();
+            try {
+                do {
+                    Value item;
+                    if (items != null) {
+                        if (index >= items.getArraySize()) {
+                            promise.resolve(index);
+                            return false;
+                        }
+                        item = items.getArrayElement(index);
+                    } else {
+                        if (!iterator.hasIteratorNextElement()) {
+                            promise.resolve(index);
+                            return false;
+                        }
+                        item = iterator.getIteratorNextElement();
+                    }
+                    // Each item is its own unit of work for the pack's statement limit
+                    scriptInstance.resetStatementLimit();
+                    function.execute(item, index++);
+                } while (System.nanoTime() < deadline);
+                return true;
+            } catch (Exception e) {
+                LOGGER.error("Schedule.defer: Error processing item {}: {}", index - 1, e.getMessage());
+                scriptInstance.checkCancelled(e);
+                promise.reject("Deferred job failed at item " + (index - 1) + ": " + e.getMessage());
+                return false;
+            } finally {
+                scriptInstance.endEntry();
+            }
+        }
+    }
+
+    /**
+     * Runs one tick of deferred work. The tick's deadline is the largest budget among the queued jobs; jobs take
+     * slices in turn, and a job that got a slice moves to the back so the next tick starts with another one.
+     */
+    private void runDeferred() {
+        long budgetNanos = 0;
+        for (DeferredJob job : deferredJobs) {
+            budgetNanos = Math.max(budgetNanos, job.budgetNanos);
+        }
+        if (budgetNanos == 0) {
+            stopDeferred();
+            return;
+        }
+        long tickDeadline = System.nanoTime() + budgetNanos;
+        int queued = deferredJobs.size();
+        for (int i = 0; i < queued; i++) {
+            long now = System.nanoTime();
+            // The first job always progresses; the others only while the tick's budget lasts
+            if (i > 0 && now >= tickDeadline) {
+                break;
+            }
+            DeferredJob job = deferredJobs.pollFirst();
+            if (job == null) {
+                break;
+            }
+            if (job.runSlice(Math.min(tickDeadline, now + job.budgetNanos))) {
+                deferredJobs.addLast(job);
+            }
+        }
+    }
+
+    private synchronized void startDeferred() {
+        if (deferTask == null && !deferredJobs.isEmpty()) {
+            deferTask = MinecraftServer.getSchedulerManager().buildTask(this::runDeferred)
+                    .executionType(ExecutionType.TICK_END)
+                    .repeat(TaskSchedule.nextTick())
+                    .schedule();
+        }
+    }
+
+    private synchronized void stopDeferred() {
+        if (deferTask != null && deferredJobs.isEmpty()) {
+            deferTask.cancel();
+            deferTask = null;
+        }
+    }
+
     private void resolveScheduledPromise(ScriptInstance contextForCallback, String taskScriptName, String uniqueId) {
         Value pendingTasksMap = null;
         Value callbacks = null;
@@ -70,6 +192,44 @@ public class Schedule {
         }
     }
 
+    /**
+     * Calls {@code fn(item, index)} for every item, spread across ticks. All deferred jobs share one deadline per
+     * tick, the largest of their budgets, and each job's slice ends after its own {@code budgetMs} (capped at
+     * {@value #MAX_DEFER_BUDGET_MS}). Slices run at the end of the tick, and the pack's statement limit applies
+     * to each item rather than to the whole slice.
+     *
+     * @param options Optional {@code {budgetMs: number}}.
+     * @return A Promise resolving with the number of processed items, or rejecting when {@code fn} throws.
+     */
+    public Value defer(Value iterable, Value function, Value options) {
+        ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
+        if (scriptInstance == null) {
+            LOGGER.warn("Schedule.defer: Cannot defer work, no active script instance.");
+            return null;
+        }
+        if (iterable == null || !(iterable.hasArrayElements() || iterable.hasIterator()) || function == null || !function.canExecute()) {
+            LOGGER.error("Schedule.defer: Invalid arguments. Expected (iterable: Iterable, fn: (item, index) => void, options?: {budgetMs?: number}).");
+            return null;
+        }
+        double budgetMs = options != null && options.hasMember("budgetMs") && options.getMember("budgetMs").isNumber()
+                ? options.getMember("budgetMs").asDouble() : DEFAULT_DEFER_BUDGET_MS;
+        budgetMs = Math.min(MAX_DEFER_BUDGET_MS, Math.max(0.05, budgetMs));
+        long budgetNanos = (long) (budgetMs * TimeUnit.MILLISECONDS.toNanos(1));
+
+        ScriptPromise promise = scriptInstance.newPromise();
+        deferredJobs.addLast(new DeferredJob(scriptInstance, iterable, function, budgetNanos, promise));
+        startDeferred();
+        return promise.getPromise();
+    }
+
+    /**
+     * Stops the deferred jobs of the script that is being unloaded; their promises never settle.
+     */
+    public void cancelDeferred() {
+        deferredJobs.clear();
+        stopDeferred();
+    }
+
     public Value schedule(long delayInTicks) {
         ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
         String scriptFileName = scriptingManager.getCurrentScriptFileName();
@@ -116,9 +276,10 @@ public class Schedule {
         if (delayInTicks <= 0) {
             this.resolveScheduledPromise(scriptInstance, scriptFileName, uniqueId);
         } else {
-            MinecraftServer.getSchedulerManager().scheduleTask(() -> {
-                this.resolveScheduledPromise(scriptInstance, scriptFileName, uniqueId);
-            }, TaskSchedule.tick((int) delayInTicks), TaskSchedule.stop());
+            // Timers that come due are settled in the tick-end phase, together with the tick's other callbacks
+            MinecraftServer.getSchedulerManager().scheduleTask(() -> scriptInstance.getEventLoop().post(() ->
+                    this.resolveScheduledPromise(scriptInstance, scriptFileName, uniqueId)
+            ), TaskSchedule.tick((int) delayInTicks), TaskSchedule.stop());
         }
         return promise;
     }
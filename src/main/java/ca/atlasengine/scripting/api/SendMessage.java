@@ -1,5 +1,6 @@
 package ca.atlasengine.scripting.api;
 
+import ca.atlasengine.scripting.OutboundQueue;
 import net.kyori.adventure.text.Component;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Player;
@@ -11,11 +12,30 @@ import java.util.UUID;
 public class SendMessage {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SendMessage.class);
+    private final OutboundQueue outboundQueue;
+
+    public SendMessage(OutboundQueue outboundQueue) {
+        this.outboundQueue = outboundQueue;
+    }
 
     /**
-     * Sends a message to a specific player.
+     * Sends a message to a player resolved from a script handle.
      * This method is intended to be called from the JavaScript bridge.
      *
+     * @param player  The online player.
+     * @param message The message to send.
+     */
+    public void execute(Player player, String message) {
+        if (player == null || message == null) {
+            LOGGER.error("SendMessageCommand.execute: Player or message is null.");
+            return;
+        }
+        outboundQueue.sendMessage(player, Component.text(message));
+    }
+
+    /**
+     * Sends a message to a specific player.
+     *
      * @param playerUuidString The UUID of the player as a string.
      * @param message          The message to send.
      */
@@ -28,7 +48,7 @@ public class SendMessage {
             UUID playerUuid = UUID.fromString(playerUuidString);
             Player player = MinecraftServer.getConnectionManager().getOnlinePlayerByUuid(playerUuid);
             if (player != null) {
-                player.sendMessage(Component.text(message));
+                outboundQueue.sendMessage(player, Component.text(message));
             } else {
                 LOGGER.error("SendMessageCommand.execute: Player not found with UUID: {}", playerUuidString);
             }
@@ -0,0 +1,136 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.ScriptInstance;
+import ca.atlasengine.scripting.ScriptingManager;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Host-side state store exposed to scripts as {@code minestom.state}.
+ * Entries are kept as {@link StructuredClone} data, so they survive the script context being
+ * closed and replaced by {@link ScriptingManager#loadAndRunScript}.
+ * <p>
+ * Binary values are never shared by accident: exporting copies buffers the script still holds (host-backed
+ * views included), and only the first import of an entry gets its buffers without a copy; later imports
+ * get copies. {@link #allocate} is the exception, and hands out the same live buffer on purpose.
+ */
+public class StateApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StateApi.class);
+    private final ScriptingManager scriptingManager;
+    private final Map<String, Object> entries = new ConcurrentHashMap<>();
+    // Entries whose buffers a context already has a view of
+    private final Set<String> handedOut = ConcurrentHashMap.newKeySet();
+
+    public StateApi(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+    }
+
+    /**
+     * Stores a clone of the value under the given key, replacing any previous entry.
+     */
+    public boolean exportValue(String key, Value value) {
+        if (key == null) {
+            LOGGER.error("StateApi.export: Key is null.");
+            return false;
+        }
+        try {
+            Object data = StructuredClone.fromValue(value, true);
+            if (data == null) {
+                entries.remove(key);
+            } else {
+                entries.put(key, data);
+            }
+            handedOut.remove(key);
+            return true;
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("StateApi.export: Cannot export value for key '{}': {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Recreates the value stored under the given key in the current script context.
+     */
+    public Object importValue(String key) {
+        Object data = key != null ? entries.get(key) : null;
+        if (data == null) {
+            return null;
+        }
+        ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
+        if (scriptInstance == null) {
+            LOGGER.warn("StateApi.import: No active script instance to import '{}' into.", key);
+            return null;
+        }
+        // The first import takes the stored buffers over; any further view would alias them
+        return StructuredClone.toValue(scriptInstance, handedOut.add(key) ? data : StructuredClone.copy(data));
+    }
+
+    /**
+     * Returns a typed array backed by host memory that is kept under the given key.
+     * Writes through the view land directly in the store, so nothing has to be exported or copied on reload.
+     * An existing buffer is reused if it has the same type and size.
+     */
+    public Object allocate(String key, String viewType, int byteLength) {
+        ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
+        if (scriptInstance == null || key == null || byteLength < 0) {
+            LOGGER.error("StateApi.allocate: Invalid arguments or no active script instance (key: {}, byteLength: {}).", key, byteLength);
+            return null;
+        }
+        Object existing = entries.get(key);
+        StructuredClone.BinaryData binary;
+        if (existing instanceof StructuredClone.BinaryData data
+                && data.type().equals(viewType) && data.data().capacity() == byteLength) {
+            binary = data;
+        } else {
+            binary = new StructuredClone.BinaryData(viewType, ByteBuffer.allocateDirect(byteLength).order(ByteOrder.LITTLE_ENDIAN));
+            entries.put(key, binary);
+        }
+        handedOut.add(key);
+        return StructuredClone.toValue(scriptInstance, binary);
+    }
+
+    public ProxyObject createProxy() {
+        Map<String, Object> api = new HashMap<>();
+        api.put("export", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 2 && args[0].isString()) {
+                return exportValue(args[0].asString(), args[1]);
+            }
+            LOGGER.error("StateApi.export: Invalid arguments. Expected (key: string, value: any).");
+            return false;
+        });
+        api.put("import", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 1 && args[0].isString()) {
+                return importValue(args[0].asString());
+            }
+            LOGGER.error("StateApi.import: Invalid arguments. Expected (key: string).");
+            return null;
+        });
+        api.put("allocate", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 3 && args[0].isString() && args[1].isString() && args[2].fitsInInt()) {
+                return allocate(args[0].asString(), args[1].asString(), args[2].asInt());
+            }
+            LOGGER.error("StateApi.allocate: Invalid arguments. Expected (key: string, type: string, byteLength: number).");
+            return null;
+        });
+        api.put("has", (ProxyExecutable) (Value... args) -> args.length >= 1 && args[0].isString() && entries.containsKey(args[0].asString()));
+        api.put("remove", (ProxyExecutable) (Value... args) -> {
+            if (args.length < 1 || !args[0].isString()) return false;
+            handedOut.remove(args[0].asString());
+            return entries.remove(args[0].asString()) != null;
+        });
+        api.put("keys", (ProxyExecutable) (Value... args) -> ProxyArray.fromArray(entries.keySet().toArray()));
+        return ProxyObject.fromMap(api);
+    }
+}
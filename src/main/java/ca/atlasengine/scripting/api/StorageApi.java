@@ -0,0 +1,139 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.ScriptInstance;
+import ca.atlasengine.scripting.ScriptPromise;
+import ca.atlasengine.scripting.ScriptStorage;
+import ca.atlasengine.scripting.ScriptingManager;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persistent key-value storage exposed to scripts as {@code minestom.storage}.
+ * Reads are synchronous and served from memory; writes are persisted behind the tick by {@link ScriptStorage}.
+ */
+public class StorageApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StorageApi.class);
+    private final ScriptingManager scriptingManager;
+    private final Path logPath;
+    private ScriptStorage storage;
+
+    /**
+     * @param logPath Path of the storage log, or null to disable storage.
+     */
+    public StorageApi(ScriptingManager scriptingManager, Path logPath) {
+        this.scriptingManager = scriptingManager;
+        this.logPath = logPath;
+    }
+
+    // Opened on first use, so bridges that never touch storage never open the log
+    private synchronized ScriptStorage storage() {
+        if (logPath == null) {
+            LOGGER.warn("StorageApi: Storage is not available in this context.");
+            return null;
+        }
+        if (storage == null) {
+            ScriptStorage opened = new ScriptStorage(logPath);
+            try {
+                opened.open();
+            } catch (IOException e) {
+                LOGGER.error("StorageApi: Could not open storage at {}: {}", logPath, e.getMessage(), e);
+                return null;
+            }
+            storage = opened;
+        }
+        return storage;
+    }
+
+    public Object get(String key) {
+        ScriptStorage store = storage();
+        Object data = store != null ? store.get(key) : null;
+        ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
+        if (data == null || scriptInstance == null) {
+            return null;
+        }
+        // A copy: writes to a returned typed array must not change the stored value behind the log's back
+        return StructuredClone.toValue(scriptInstance, StructuredClone.copy(data));
+    }
+
+    public boolean set(String key, Value value) {
+        ScriptStorage store = storage();
+        if (store == null) {
+            return false;
+        }
+        try {
+            // Copied even when host-backed, so the script cannot keep mutating the value after the write is queued
+            store.put(key, StructuredClone.fromValue(value, true));
+            return true;
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("StorageApi.set: Cannot store value for key '{}': {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    public Value flush() {
+        ScriptStorage store = storage();
+        ScriptInstance scriptInstance = scriptingManager.getCurrentScriptInstance();
+        if (store == null || scriptInstance == null) {
+            LOGGER.warn("StorageApi.flush: Storage or script instance unavailable.");
+            return null;
+        }
+        ScriptPromise promise = scriptInstance.newPromise();
+        store.flush().whenComplete((ignored, error) -> {
+            if (error != null) {
+                promise.rejectLater("Storage flush failed: " + error.getMessage());
+            } else {
+                promise.resolveLater(() -> null);
+            }
+        });
+        return promise.getPromise();
+    }
+
+    public synchronized void close() {
+        if (storage != null) {
+            storage.close();
+            storage = null;
+        }
+    }
+
+    public ProxyObject createProxy() {
+        Map<String, Object> api = new HashMap<>();
+        api.put("get", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 1 && args[0].isString()) {
+                return get(args[0].asString());
+            }
+            LOGGER.error("StorageApi.get: Invalid arguments. Expected (key: string).");
+            return null;
+        });
+        api.put("set", (ProxyExecutable) (Value... args) -> {
+            if (args.length >= 2 && args[0].isString()) {
+                return set(args[0].asString(), args[1]);
+            }
+            LOGGER.error("StorageApi.set: Invalid arguments. Expected (key: string, value: any).");
+            return false;
+        });
+        api.put("delete", (ProxyExecutable) (Value... args) -> {
+            ScriptStorage store = storage();
+            return store != null && args.length >= 1 && args[0].isString() && store.delete(args[0].asString());
+        });
+        api.put("has", (ProxyExecutable) (Value... args) -> {
+            ScriptStorage store = storage();
+            return store != null && args.length >= 1 && args[0].isString() && store.has(args[0].asString());
+        });
+        api.put("keys", (ProxyExecutable) (Value... args) -> {
+            ScriptStorage store = storage();
+            return ProxyArray.fromArray(store != null ? store.keys().toArray() : new Object[0]);
+        });
+        api.put("flush", (ProxyExecutable) (Value... args) -> flush());
+        return ProxyObject.fromMap(api);
+    }
+}
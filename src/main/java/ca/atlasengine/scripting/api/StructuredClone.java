@@ -0,0 +1,370 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.ScriptInstance;
+import org.graalvm.polyglot.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts JavaScript values into context-independent host data and back.
+ * The host representation outlives the context it was taken from, so it can be handed to another
+ * {@link ScriptInstance} (after a reload, or in another context entirely).
+ * <p>
+ * Supported values: null/undefined, booleans, numbers, strings, arrays, plain objects,
+ * ArrayBuffers and typed arrays. Binary payloads are kept in little-endian host buffers and are
+ * re-exposed to JavaScript as views over the same memory. Buffers that already live in host memory are
+ * transferred without a copy unless the caller asks for one; stores that must not share memory with a
+ * script (persistent storage) copy on the way in with {@link #fromValue(Value, boolean)} and on the way out
+ * with {@link #copy(Object)}.
+ */
+public final class StructuredClone {
+
+    private static final int MAX_DEPTH = 64;
+
+    // Tags of the serialized form produced by encode()
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_FALSE = 1;
+    private static final byte TAG_TRUE = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_DOUBLE = 5;
+    private static final byte TAG_STRING = 6;
+    private static final byte TAG_LIST = 7;
+    private static final byte TAG_MAP = 8;
+    private static final byte TAG_BINARY = 9;
+
+    private static final Set<String> TYPED_ARRAY_TYPES = Set.of(
+            "Int8Array", "Uint8Array", "Uint8ClampedArray",
+            "Int16Array", "Uint16Array",
+            "Int32Array", "Uint32Array",
+            "Float32Array", "Float64Array",
+            "BigInt64Array", "BigUint64Array"
+    );
+
+    /**
+     * Binary payload detached from any context.
+     *
+     * @param type The JavaScript constructor name ("ArrayBuffer" or a typed array name).
+     * @param data Little-endian buffer holding the bytes.
+     */
+    public record BinaryData(String type, ByteBuffer data) {
+    }
+
+    private StructuredClone() {
+    }
+
+    /**
+     * Copies a JavaScript value into host data.
+     *
+     * @throws IllegalArgumentException if the value (or something it contains) cannot be cloned.
+     */
+    public static Object fromValue(Value value) {
+        return fromValue(value, false, 0);
+    }
+
+    /**
+     * @param copyHostMemory Whether host-backed buffers are copied too, so the result shares no memory with
+     *                       the script.
+     */
+    public static Object fromValue(Value value, boolean copyHostMemory) {
+        return fromValue(value, copyHostMemory, 0);
+    }
+
+    private static Object fromValue(Value value, boolean copyHostMemory, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Value is nested too deeply (or cyclic) to be cloned.");
+        }
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isBoolean()) {
+            return value.asBoolean();
+        }
+        if (value.isString()) {
+            return value.asString();
+        }
+        if (value.isNumber()) {
+            if (value.fitsInInt()) return value.asInt();
+            if (value.fitsInLong()) return value.asLong();
+            return value.asDouble();
+        }
+        if (value.isHostObject()) {
+            Object hostObject = value.asHostObject();
+            if (hostObject instanceof ByteBuffer buffer) {
+                return new BinaryData("ArrayBuffer", copyHostMemory ? copyOf(buffer) : buffer);
+            }
+            throw new IllegalArgumentException("Host objects cannot be cloned: " + hostObject.getClass().getSimpleName());
+        }
+        if (value.canExecute()) {
+            throw new IllegalArgumentException("Functions cannot be cloned.");
+        }
+
+        String typeName = value.getMetaObject() != null ? value.getMetaObject().getMetaSimpleName() : "";
+        if ("ArrayBuffer".equals(typeName) && value.hasBufferElements()) {
+            return new BinaryData("ArrayBuffer", copyBuffer(value, 0, (int) value.getBufferSize(), copyHostMemory));
+        }
+        if (TYPED_ARRAY_TYPES.contains(typeName)) {
+            Value backing = value.getMember("buffer");
+            int byteOffset = value.getMember("byteOffset").asInt();
+            int byteLength = value.getMember("byteLength").asInt();
+            return new BinaryData(typeName, copyBuffer(backing, byteOffset, byteLength, copyHostMemory));
+        }
+
+        if (value.hasArrayElements()) {
+            long size = value.getArraySize();
+            List<Object> list = new ArrayList<>((int) size);
+            for (long i = 0; i < size; i++) {
+                list.add(fromValue(value.getArrayElement(i), copyHostMemory, depth + 1));
+            }
+            return list;
+        }
+        if (value.hasMembers()) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (String key : value.getMemberKeys()) {
+                Value member = value.getMember(key);
+                if (member != null && member.canExecute()) {
+                    continue; // Methods are dropped, like JSON.stringify does
+                }
+                map.put(key, fromValue(member, copyHostMemory, depth + 1));
+            }
+            return map;
+        }
+        throw new IllegalArgumentException("Unsupported value type: " + typeName);
+    }
+
+    /**
+     * Reads a Float64Array (or a plain array of numbers) into a host array with one bulk copy.
+     *
+     * @throws IllegalArgumentException if the value is neither.
+     */
+    public static double[] readDoubles(Value value) {
+        String typeName = value != null && value.getMetaObject() != null ? value.getMetaObject().getMetaSimpleName() : "";
+        if ("Float64Array".equals(typeName)) {
+            int byteLength = value.getMember("byteLength").asInt();
+            ByteBuffer bytes = copyBuffer(value.getMember("buffer"), value.getMember("byteOffset").asInt(), byteLength, false);
+            double[] doubles = new double[byteLength / Double.BYTES];
+            bytes.asDoubleBuffer().get(doubles);
+            return doubles;
+        }
+        if (value != null && value.hasArrayElements()) {
+            double[] doubles = new double[(int) value.getArraySize()];
+            for (int i = 0; i < doubles.length; i++) {
+                doubles[i] = value.getArrayElement(i).asDouble();
+            }
+            return doubles;
+        }
+        throw new IllegalArgumentException("Expected a Float64Array, got: " + typeName);
+    }
+
+    private static ByteBuffer copyBuffer(Value arrayBuffer, int byteOffset, int byteLength, boolean copyHostMemory) {
+        if (arrayBuffer.isHostObject() && arrayBuffer.asHostObject() instanceof ByteBuffer hostBuffer) {
+            // Already host memory (e.g. a buffer previously handed out by the bridge): transfer, don't copy
+            ByteBuffer slice = hostBuffer.duplicate().position(byteOffset).limit(byteOffset + byteLength).slice().order(ByteOrder.LITTLE_ENDIAN);
+            return copyHostMemory ? copyOf(slice) : slice;
+        }
+        byte[] bytes = new byte[byteLength];
+        arrayBuffer.readBuffer(byteOffset, bytes, 0, byteLength);
+        ByteBuffer copy = ByteBuffer.allocateDirect(byteLength).order(ByteOrder.LITTLE_ENDIAN);
+        copy.put(bytes).flip();
+        return copy;
+    }
+
+    /**
+     * Returns the data with every binary payload copied into a new buffer; other values are immutable and
+     * shared.
+     */
+    public static Object copy(Object data) {
+        if (data instanceof BinaryData binary) {
+            return new BinaryData(binary.type(), copyOf(binary.data()));
+        }
+        if (data instanceof List<?> list) {
+            List<Object> copied = new ArrayList<>(list.size());
+            for (Object element : list) {
+                copied.add(copy(element));
+            }
+            return copied;
+        }
+        if (data instanceof Map<?, ?> map) {
+            Map<String, Object> copied = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copied.put(String.valueOf(entry.getKey()), copy(entry.getValue()));
+            }
+            return copied;
+        }
+        return data;
+    }
+
+    private static ByteBuffer copyOf(ByteBuffer source) {
+        ByteBuffer bytes = source.duplicate().clear();
+        ByteBuffer copy = ByteBuffer.allocateDirect(bytes.remaining()).order(ByteOrder.LITTLE_ENDIAN);
+        copy.put(bytes).flip();
+        return copy;
+    }
+
+    /**
+     * Recreates a JavaScript value from host data inside the given script instance.
+     * Binary payloads are exposed as views over the stored buffer, without copying.
+     */
+    public static Object toValue(ScriptInstance scriptInstance, Object data) {
+        if (data == null || data instanceof Boolean || data instanceof Number || data instanceof String) {
+            return data;
+        }
+        if (data instanceof BinaryData binary) {
+            return scriptInstance.wrapBuffer(binary.data().duplicate().order(ByteOrder.LITTLE_ENDIAN), binary.type());
+        }
+        if (data instanceof List<?> list) {
+            Value array = scriptInstance.newArray();
+            for (int i = 0; i < list.size(); i++) {
+                array.setArrayElement(i, toValue(scriptInstance, list.get(i)));
+            }
+            return array;
+        }
+        if (data instanceof Map<?, ?> map) {
+            Value object = scriptInstance.newObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                object.putMember(String.valueOf(entry.getKey()), toValue(scriptInstance, entry.getValue()));
+            }
+            return object;
+        }
+        throw new IllegalArgumentException("Unsupported host data type: " + data.getClass().getSimpleName());
+    }
+
+    /**
+     * Serializes host data (as produced by {@link #fromValue}) into a compact binary form.
+     */
+    public static byte[] encode(Object data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads host data back from the form produced by {@link #encode}.
+     */
+    public static Object decode(byte[] encoded) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(DataOutputStream out, Object data) throws IOException {
+        if (data == null) {
+            out.writeByte(TAG_NULL);
+        } else if (data instanceof Boolean bool) {
+            out.writeByte(bool ? TAG_TRUE : TAG_FALSE);
+        } else if (data instanceof Integer number) {
+            out.writeByte(TAG_INT);
+            out.writeInt(number);
+        } else if (data instanceof Long number) {
+            out.writeByte(TAG_LONG);
+            out.writeLong(number);
+        } else if (data instanceof Number number) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(number.doubleValue());
+        } else if (data instanceof String string) {
+            out.writeByte(TAG_STRING);
+            writeString(out, string);
+        } else if (data instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                write(out, element);
+            }
+        } else if (data instanceof Map<?, ?> map) {
+            out.writeByte(TAG_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                write(out, entry.getValue());
+            }
+        } else if (data instanceof BinaryData binary) {
+            ByteBuffer source = binary.data().duplicate().clear();
+            byte[] payload = new byte[source.remaining()];
+            source.get(payload);
+            out.writeByte(TAG_BINARY);
+            out.writeUTF(binary.type());
+            out.writeInt(payload.length);
+            out.write(payload);
+        } else {
+            throw new IllegalArgumentException("Unsupported host data type: " + data.getClass().getSimpleName());
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_FALSE:
+                return false;
+            case TAG_TRUE:
+                return true;
+            case TAG_INT:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_STRING:
+                return readString(in);
+            case TAG_LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(read(in));
+                }
+                return list;
+            }
+            case TAG_MAP: {
+                int size = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readString(in), read(in));
+                }
+                return map;
+            }
+            case TAG_BINARY: {
+                String type = in.readUTF();
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(payload.length).order(ByteOrder.LITTLE_ENDIAN);
+                buffer.put(payload).flip();
+                return new BinaryData(type, buffer);
+            }
+            default:
+                throw new IOException("Unknown tag in serialized data: " + tag);
+        }
+    }
+
+    // writeUTF() caps strings at 64 KiB, so strings are stored as length-prefixed UTF-8 instead
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
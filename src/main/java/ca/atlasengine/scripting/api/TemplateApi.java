@@ -0,0 +1,146 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.EntityHandle;
+import ca.atlasengine.scripting.ScriptingManager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.adventure.audience.PacketGroupingAudience;
+import net.minestom.server.entity.Player;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled message templates exposed to scripts as {@code minestom.template(source, options)}.
+ * Templates are compiled once per source and shared, so calling {@code minestom.template} inside a
+ * handler costs a map lookup.
+ */
+public class TemplateApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateApi.class);
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private final ScriptingManager scriptingManager;
+    private final Map<String, ProxyObject> templates = new ConcurrentHashMap<>();
+
+    public TemplateApi(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+    }
+
+    /**
+     * @param options Optional {@code {miniMessage: boolean}}.
+     */
+    public Object template(String source, Value options) {
+        if (source == null) {
+            LOGGER.error("TemplateApi.template: Source is null.");
+            return null;
+        }
+        boolean miniMessage = options != null && options.hasMember("miniMessage") && options.getMember("miniMessage").asBoolean();
+        String key = (miniMessage ? "m:" : "p:") + source;
+        ProxyObject handle = templates.get(key);
+        if (handle != null) {
+            return handle;
+        }
+        try {
+            handle = createHandle(MessageTemplate.compile(source, miniMessage));
+        } catch (Exception e) {
+            LOGGER.error("TemplateApi.template: Invalid template '{}': {}", source, e.getMessage());
+            return null;
+        }
+        if (templates.size() >= MAX_CACHED_TEMPLATES) {
+            templates.clear();
+        }
+        templates.put(key, handle);
+        return handle;
+    }
+
+    private ProxyObject createHandle(MessageTemplate template) {
+        Map<String, Object> handle = new HashMap<>();
+        handle.put("source", template.getSource());
+        handle.put("slots", ProxyArray.fromArray(template.getSlots().toArray()));
+        handle.put("render", (ProxyExecutable) (Value... args) -> {
+            Component component = template.render(Locale.US, values(template, args.length > 0 ? args[0] : null));
+            return PlainTextComponentSerializer.plainText().serialize(component);
+        });
+        handle.put("send", (ProxyExecutable) (Value... args) -> {
+            if (args.length == 0) {
+                LOGGER.error("TemplateApi.send: Invalid arguments. Expected (target: Player | Player[] | string, params?: object).");
+                return null;
+            }
+            send(template, resolvePlayers(args[0]), values(template, args.length > 1 ? args[1] : null));
+            return null;
+        });
+        handle.put("broadcast", (ProxyExecutable) (Value... args) -> {
+            send(template, MinecraftServer.getConnectionManager().getOnlinePlayers(), values(template, args.length > 0 ? args[0] : null));
+            return null;
+        });
+        return ProxyObject.fromMap(handle);
+    }
+
+    /**
+     * Renders once per locale and sends each locale group as one grouped packet.
+     */
+    private void send(MessageTemplate template, Collection<Player> players, String[] values) {
+        if (players.size() == 1) {
+            Player player = players.iterator().next();
+            scriptingManager.getOutboundQueue().sendMessage(player, template.render(localeOf(player), values));
+            return;
+        }
+        Map<Locale, List<Player>> byLocale = new HashMap<>();
+        for (Player player : players) {
+            byLocale.computeIfAbsent(localeOf(player), k -> new ArrayList<>()).add(player);
+        }
+        byLocale.forEach((locale, group) -> PacketGroupingAudience.of(group).sendMessage(template.render(locale, values)));
+    }
+
+    private static Locale localeOf(Player player) {
+        Locale locale = player.getLocale();
+        return locale != null ? locale : Locale.US;
+    }
+
+    private List<Player> resolvePlayers(Value target) {
+        List<Player> players = new ArrayList<>();
+        if (target.hasArrayElements()) {
+            for (long i = 0; i < target.getArraySize(); i++) {
+                Player player = scriptingManager.resolvePlayer(target.getArrayElement(i));
+                if (player != null) players.add(player);
+            }
+        } else {
+            Player player = scriptingManager.resolvePlayer(target);
+            if (player != null) players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * Reads one string per slot from the params object. Player handles stand for their name.
+     */
+    private static String[] values(MessageTemplate template, Value params) {
+        List<String> slots = template.getSlots();
+        String[] values = new String[slots.size()];
+        for (int i = 0; i < values.length; i++) {
+            Value value = params != null && params.hasMember(slots.get(i)) ? params.getMember(slots.get(i)) : null;
+            if (value == null || value.isNull()) {
+                values[i] = "";
+            } else if (value.isString()) {
+                values[i] = value.asString();
+            } else if (value.isProxyObject() && value.asProxyObject() instanceof EntityHandle handle && handle.hasMember("name")) {
+                values[i] = String.valueOf(handle.getMember("name"));
+            } else {
+                values[i] = value.toString();
+            }
+        }
+        return values;
+    }
+}
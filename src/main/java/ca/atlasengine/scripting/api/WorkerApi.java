@@ -0,0 +1,132 @@
+package ca.atlasengine.scripting.api;
+
+import ca.atlasengine.scripting.GraalVmFileSystemAdapter;
+import ca.atlasengine.scripting.InMemoryFileSystem;
+import ca.atlasengine.scripting.ScriptInstance;
+import ca.atlasengine.scripting.ScriptPromise;
+import ca.atlasengine.scripting.ScriptWorker;
+import ca.atlasengine.scripting.ScriptingManager;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts {@link ScriptWorker}s for {@code minestom.worker(file)} and hands scripts a handle to talk to them.
+ */
+public class WorkerApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkerApi.class);
+    private static final int POOL_SIZE = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+        Thread thread = new Thread(runnable, "script-worker-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ScriptingManager scriptingManager;
+    private final List<ScriptWorker> workers = new CopyOnWriteArrayList<>();
+
+    public WorkerApi(ScriptingManager scriptingManager) {
+        this.scriptingManager = scriptingManager;
+    }
+
+    public Object createWorker(String fileName) {
+        ScriptInstance owner = scriptingManager.getCurrentScriptInstance();
+        if (owner == null) {
+            LOGGER.warn("WorkerApi.createWorker: No active script instance to own worker '{}'.", fileName);
+            return null;
+        }
+        Path scriptsDir = scriptingManager.getScriptsDir().toAbsolutePath().normalize();
+        Path scriptPath = scriptsDir.resolve(fileName.endsWith(".js") ? fileName : fileName + ".js").normalize();
+        if (!scriptPath.startsWith(scriptsDir) || !Files.exists(scriptPath)) {
+            LOGGER.error("WorkerApi.createWorker: Worker script not found in scripts directory: {}", fileName);
+            return null;
+        }
+
+        List<Value> mainListeners = new CopyOnWriteArrayList<>();
+        ScriptWorker worker = new ScriptWorker(scriptPath.getFileName().toString(), POOL, data ->
+                // Messages from the worker are delivered in the owner's tick-end phase, where its context may be entered
+                owner.getEventLoop().post(() -> {
+                    if (owner.isClosed()) return;
+                    for (Value listener : mainListeners) {
+                        try {
+                            listener.execute(StructuredClone.toValue(owner, data));
+                        } catch (Exception e) {
+                            LOGGER.error("WorkerApi: Error in onMessage listener for worker '{}': {}", fileName, e.getMessage(), e);
+                        }
+                    }
+                }));
+        InMemoryFileSystem inMemoryFs = new InMemoryFileSystem(scriptingManager.getScriptsDir(), Collections.emptyMap());
+        worker.start(scriptPath, new GraalVmFileSystemAdapter(inMemoryFs, Path.of("./")));
+        workers.add(worker);
+        return createHandle(worker, owner, mainListeners);
+    }
+
+    private ProxyObject createHandle(ScriptWorker worker, ScriptInstance owner, List<Value> mainListeners) {
+        Map<String, Object> handle = new HashMap<>();
+        handle.put("name", worker.getName());
+        handle.put("request", (ProxyExecutable) (Value... args) -> {
+            ScriptPromise promise = owner.newPromise();
+            Object message;
+            try {
+                message = StructuredClone.fromValue(args.length > 0 ? args[0] : null);
+            } catch (IllegalArgumentException e) {
+                promise.reject("Cannot send message to worker: " + e.getMessage());
+                return promise.getPromise();
+            }
+            worker.request(message).whenComplete((reply, error) -> {
+                if (error != null) {
+                    promise.rejectLater("Worker '" + worker.getName() + "' failed: " + error.getMessage());
+                } else {
+                    promise.resolveLater(() -> StructuredClone.toValue(owner, reply));
+                }
+            });
+            return promise.getPromise();
+        });
+        handle.put("post", (ProxyExecutable) (Value... args) -> {
+            try {
+                worker.post(StructuredClone.fromValue(args.length > 0 ? args[0] : null));
+                return true;
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("WorkerApi.post: Cannot send message to worker '{}': {}", worker.getName(), e.getMessage());
+                return false;
+            }
+        });
+        handle.put("onMessage", (ProxyExecutable) (Value... args) -> {
+            if (args.length > 0 && args[0].canExecute()) {
+                mainListeners.add(args[0]);
+            }
+            return null;
+        });
+        handle.put("terminate", (ProxyExecutable) (Value... args) -> {
+            worker.terminate();
+            workers.remove(worker);
+            return null;
+        });
+        return ProxyObject.fromMap(handle);
+    }
+
+    /**
+     * Terminates every worker started by the current script (called when it is unloaded).
+     */
+    public void terminateAll() {
+        for (ScriptWorker worker : workers) {
+            worker.terminate();
+        }
+        workers.clear();
+    }
+}
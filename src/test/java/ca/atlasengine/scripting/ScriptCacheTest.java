@@ -0,0 +1,73 @@
+package ca.atlasengine.scripting;
+
+import net.minestom.server.MinecraftServer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedOverEntryLimit() {
+        ScriptCache cache = new ScriptCache("test", 2, 0, 0);
+        cache.put("a", 1, 1);
+        cache.put("b", 2, 1);
+        assertEquals(1, cache.get("a")); // "b" is now the least recently used
+        cache.put("c", 3, 1);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("c"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void evictsUntilWeightLimitHolds() {
+        ScriptCache cache = new ScriptCache("test", 0, 10, 0);
+        cache.put("a", "small", 3);
+        cache.put("b", "small", 3);
+        cache.put("c", "large", 8);
+
+        assertFalse(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("c"));
+        assertEquals(8, cache.getTotalWeight());
+
+        cache.put("c", "smaller", 2);
+        assertEquals(2, cache.getTotalWeight());
+    }
+
+    @Test
+    void reconfiguringEvictsImmediately() {
+        ScriptCache cache = new ScriptCache("test", 0, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            cache.put("key" + i, i, 1);
+        }
+        cache.configure(2, 0, 0);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsKey("key3"));
+        assertTrue(cache.containsKey("key4"));
+    }
+
+    @Test
+    void entriesExpireAfterTheirTtl() throws InterruptedException {
+        ScriptCache cache = new ScriptCache("test", 0, 0, 1);
+        cache.put("a", "value", 1);
+        assertEquals("value", cache.get("a"));
+
+        Thread.sleep(MinecraftServer.TICK_MS * 3L);
+
+        assertFalse(cache.containsKey("a"));
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getExpirations());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalWeight());
+    }
+}
@@ -0,0 +1,165 @@
+package ca.atlasengine.scripting;
+
+import ca.atlasengine.scripting.api.StructuredClone;
+import net.minestom.server.MinecraftServer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptStorageTest {
+
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void initServer() {
+        // open() schedules the write-behind task; the server is never started, so it never runs
+        MinecraftServer.init();
+    }
+
+    @Test
+    void putAndDeleteSurviveReopen() throws IOException {
+        Path log = directory.resolve("pack.log");
+        StructuredClone.BinaryData binary = new StructuredClone.BinaryData("Uint8Array",
+                ByteBuffer.wrap(new byte[]{1, 2, 3, 4}).order(ByteOrder.LITTLE_ENDIAN));
+
+        ScriptStorage storage = new ScriptStorage(log);
+        storage.open();
+        storage.put("config", Map.of("name", "arena", "rounds", 3));
+        storage.put("scores", List.of(10, 20, 30));
+        storage.put("blob", binary);
+        storage.put("removed", "soon gone");
+        storage.flush().join();
+        storage.delete("removed");
+        storage.put("scores", List.of(40));
+        storage.close();
+
+        ScriptStorage reopened = new ScriptStorage(log);
+        reopened.open();
+        assertEquals(Map.of("name", "arena", "rounds", 3), reopened.get("config"));
+        assertEquals(List.of(40), reopened.get("scores"));
+        assertEquals(binary, reopened.get("blob"));
+        assertFalse(reopened.has("removed"));
+        assertEquals(3, reopened.keys().size());
+        reopened.close();
+    }
+
+    @Test
+    void corruptTailIsIgnoredAndOverwritten() throws IOException {
+        Path log = directory.resolve("pack.log");
+        writeTwoRecords(log);
+
+        // Flip a byte inside the second record's body so its checksum no longer matches
+        long secondBody = recordSize("first", "kept") + RECORD_HEADER_BYTES;
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer single = ByteBuffer.allocate(1);
+            channel.read(single, secondBody + 2);
+            single.flip();
+            byte corrupted = (byte) (single.get() ^ 0xFF);
+            channel.write(ByteBuffer.wrap(new byte[]{corrupted}), secondBody + 2);
+        }
+
+        assertRecoversFirstRecord(log);
+    }
+
+    @Test
+    void truncatedTailIsIgnoredAndOverwritten() throws IOException {
+        Path log = directory.resolve("pack.log");
+        writeTwoRecords(log);
+
+        // Cut the log in the middle of the second record, as a crash during a write would
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(recordSize("first", "kept") + RECORD_HEADER_BYTES + 3);
+        }
+
+        assertRecoversFirstRecord(log);
+    }
+
+    @Test
+    void staleRecordsAreCompactedAway() throws IOException {
+        Path log = directory.resolve("pack.log");
+        String large = "x".repeat(64 * 1024);
+        int writes = 40;
+
+        ScriptStorage storage = new ScriptStorage(log);
+        storage.open();
+        for (int i = 0; i < writes; i++) {
+            storage.put("large", large + i);
+            storage.flush().join();
+        }
+        storage.close();
+
+        assertTrue(countRecords(log) < writes, "Overwritten records should have been compacted");
+        assertFalse(Files.exists(log.resolveSibling("pack.log.compact")));
+
+        ScriptStorage reopened = new ScriptStorage(log);
+        reopened.open();
+        assertEquals(large + (writes - 1), reopened.get("large"));
+        reopened.close();
+    }
+
+    private static void writeTwoRecords(Path log) throws IOException {
+        ScriptStorage storage = new ScriptStorage(log);
+        storage.open();
+        storage.put("first", "kept");
+        storage.flush().join();
+        storage.put("second", "lost");
+        storage.close();
+    }
+
+    private static void assertRecoversFirstRecord(Path log) throws IOException {
+        ScriptStorage reopened = new ScriptStorage(log);
+        reopened.open();
+        assertEquals("kept", reopened.get("first"));
+        assertNull(reopened.get("second"));
+
+        // New writes go where the damaged record was, so they survive the next replay
+        reopened.put("third", "appended");
+        reopened.close();
+
+        ScriptStorage again = new ScriptStorage(log);
+        again.open();
+        assertEquals("kept", again.get("first"));
+        assertEquals("appended", again.get("third"));
+        assertFalse(again.has("second"));
+        again.close();
+    }
+
+    private static long recordSize(String key, Object value) {
+        return RECORD_HEADER_BYTES + 1 + 4 + key.getBytes(StandardCharsets.UTF_8).length + StructuredClone.encode(value).length;
+    }
+
+    // Walks the record lengths up to the zero-filled end of the log
+    private static int countRecords(Path log) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(log));
+        int records = 0;
+        int position = 0;
+        while (position + RECORD_HEADER_BYTES <= bytes.limit()) {
+            int length = bytes.getInt(position);
+            if (length <= 0) {
+                break;
+            }
+            records++;
+            position += RECORD_HEADER_BYTES + length;
+        }
+        return records;
+    }
+}
@@ -0,0 +1,79 @@
+package ca.atlasengine.scripting.api;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MessageTemplateTest {
+
+    @Test
+    void plainTemplateFillsSlotsInOrder() {
+        MessageTemplate template = MessageTemplate.compile("<player> joined <arena>, welcome <player>!", false);
+
+        assertEquals(List.of("player", "arena", "player"), template.getSlots());
+        Component rendered = template.render(Locale.US, new String[]{"Alex", "Skyfall", "Alex"});
+        assertEquals("Alex joined Skyfall, welcome Alex!", plain(rendered));
+    }
+
+    @Test
+    void plainTemplateWithoutSlotsRendersSource() {
+        MessageTemplate template = MessageTemplate.compile("Round over", false);
+
+        assertEquals(List.of(), template.getSlots());
+        assertEquals("Round over", plain(template.render(Locale.US, new String[0])));
+    }
+
+    @Test
+    void miniMessageTemplateKeepsFormattingAroundSlots() {
+        MessageTemplate template = MessageTemplate.compile("<red>Hello <player></red>, you have <coins> coins", true);
+
+        assertEquals(List.of("player", "coins"), template.getSlots());
+        Component rendered = template.render(Locale.US, new String[]{"Alex", "12"});
+        assertEquals("Hello Alex, you have 12 coins", plain(rendered));
+        assertEquals(NamedTextColor.RED, colorOf(rendered, "Alex", null));
+    }
+
+    @Test
+    void slotValuesAreNotParsedAsMiniMessage() {
+        MessageTemplate template = MessageTemplate.compile("<gold><name></gold>", true);
+
+        assertEquals("<bold>Alex", plain(template.render(Locale.US, new String[]{"<bold>Alex"})));
+    }
+
+    @Test
+    void repeatedRendersAreCached() {
+        MessageTemplate template = MessageTemplate.compile("<green>Score: <points>", true);
+
+        Component first = template.render(Locale.US, new String[]{"5"});
+        assertSame(first, template.render(Locale.US, new String[]{"5"}));
+        assertEquals("Score: 6", plain(template.render(Locale.US, new String[]{"6"})));
+    }
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+    // Color of the text component containing the content, taking the color its parents pass down into account
+    private static TextColor colorOf(Component component, String content, TextColor inherited) {
+        TextColor color = component.color() != null ? component.color() : inherited;
+        if (component instanceof TextComponent text && text.content().contains(content)) {
+            return color;
+        }
+        for (Component child : component.children()) {
+            TextColor found = colorOf(child, content, color);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package ca.atlasengine.scripting.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StructuredCloneTest {
+
+    @Test
+    void scalarsRoundTrip() {
+        assertNull(StructuredClone.decode(StructuredClone.encode(null)));
+        assertEquals(true, StructuredClone.decode(StructuredClone.encode(true)));
+        assertEquals(false, StructuredClone.decode(StructuredClone.encode(false)));
+        assertEquals(42, StructuredClone.decode(StructuredClone.encode(42)));
+        assertEquals(1L << 40, StructuredClone.decode(StructuredClone.encode(1L << 40)));
+        assertEquals(0.5, StructuredClone.decode(StructuredClone.encode(0.5)));
+        assertEquals("héllo ✓", StructuredClone.decode(StructuredClone.encode("héllo ✓")));
+    }
+
+    @Test
+    void stringsLongerThanWriteUtfLimitRoundTrip() {
+        String large = "a".repeat(70_000);
+        assertEquals(large, StructuredClone.decode(StructuredClone.encode(large)));
+    }
+
+    @Test
+    void nestedStructuresRoundTrip() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("name", "arena");
+        data.put("spawn", List.of(0.5, 64, -12.25));
+        data.put("owner", null);
+        List<Object> rounds = new ArrayList<>();
+        rounds.add(Map.of("winner", "team-a", "score", 7));
+        rounds.add(List.of());
+        data.put("rounds", rounds);
+
+        Object decoded = StructuredClone.decode(StructuredClone.encode(data));
+
+        assertEquals(data, decoded);
+        assertEquals(List.of("name", "spawn", "owner", "rounds"), new ArrayList<>(((Map<?, ?>) decoded).keySet()));
+    }
+
+    @Test
+    void binaryDataRoundTripsAsLittleEndianCopy() {
+        ByteBuffer source = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putInt(7).putInt(-1).flip();
+        StructuredClone.BinaryData binary = new StructuredClone.BinaryData("Int32Array", source);
+
+        StructuredClone.BinaryData decoded = (StructuredClone.BinaryData) StructuredClone.decode(StructuredClone.encode(binary));
+
+        assertEquals("Int32Array", decoded.type());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, decoded.data().order());
+        assertEquals(7, decoded.data().getInt(0));
+        assertEquals(-1, decoded.data().getInt(4));
+        assertNotSame(source, decoded.data());
+    }
+
+    @Test
+    void copyDetachesBinaryPayloads() {
+        byte[] bytes = {1, 2, 3};
+        StructuredClone.BinaryData binary = new StructuredClone.BinaryData("Uint8Array", ByteBuffer.wrap(bytes));
+        Map<String, Object> data = Map.of("payload", List.of(binary), "label", "chunk");
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> copy = (Map<String, Object>) StructuredClone.copy(data);
+        bytes[0] = 99;
+
+        StructuredClone.BinaryData copied = (StructuredClone.BinaryData) ((List<?>) copy.get("payload")).get(0);
+        assertEquals(1, copied.data().get(0));
+        assertEquals("chunk", copy.get("label"));
+    }
+
+    @Test
+    void rejectsUnsupportedAndUnknownData() {
+        assertThrows(IllegalArgumentException.class, () -> StructuredClone.encode(new Object()));
+
+        byte[] encoded = StructuredClone.encode("value");
+        byte[] unknownTag = Arrays.copyOf(encoded, encoded.length);
+        unknownTag[0] = 127;
+        assertThrows(UncheckedIOException.class, () -> StructuredClone.decode(unknownTag));
+        assertThrows(UncheckedIOException.class, () -> StructuredClone.decode(Arrays.copyOf(encoded, 3)));
+    }
+}